@@ -0,0 +1,54 @@
+package me.imdanix.caves.caverns;
+
+import me.imdanix.caves.ticks.scheduler.FakeScheduler;
+import me.imdanix.caves.ticks.scheduler.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that changes of aged chunks are dispatched to the chunks they belong to, and not to the global thread
+ * Run with "mvn -pl DangerousCaves -am -P bench test". Fails with an exception if changes went anywhere else
+ */
+public final class AgingDispatchCheck {
+    private static final int CHUNKS = 25;
+
+    private AgingDispatchCheck() {}
+
+    public static void main(String[] args) {
+        Fakes.installServer();
+        FakeScheduler scheduler = new FakeScheduler();
+        CavesAging aging = new CavesAging(Fakes.fake(Plugin.class), scheduler);
+        World world = Fakes.fake(World.class, Map.of("getName", call -> "world"));
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < CHUNKS; i++) {
+            int x = i % 5 - 2, z = i / 5 - 2;
+            Chunk chunk = Fakes.fake(Chunk.class, Map.of(
+                    "getWorld", call -> world,
+                    "getX", call -> x,
+                    "getZ", call -> z
+            ));
+            // Every other chunk has nothing to change, so nothing should be dispatched for it
+            if (i % 2 == 0) {
+                aging.apply(new CavesAging.AgedChunk(chunk, new int[]{0}, AgingIndex.Outcome.AGED));
+                expected.add(FakeScheduler.chunk(world, x, z));
+            } else {
+                aging.apply(new CavesAging.AgedChunk(chunk, new int[0], AgingIndex.Outcome.UNCHANGED));
+            }
+        }
+
+        List<String> dispatched = new ArrayList<>();
+        for (FakeScheduler.Dispatch dispatch : scheduler.getDispatches()) dispatched.add(dispatch.region());
+        if (!dispatched.equals(expected)) {
+            throw new AssertionError("Aged chunks were dispatched to " + dispatched + " instead of " + expected);
+        }
+        // Chunks aren't loaded, so the tasks return without touching any block
+        scheduler.runAll();
+        System.out.println("Aging dispatch checks passed: " + expected.size() + " changes dispatched per chunk");
+    }
+}
@@ -0,0 +1,122 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.configuration.Configuration;
+import me.imdanix.caves.ticks.Dynamics;
+import me.imdanix.caves.ticks.scheduler.FakeScheduler;
+import me.imdanix.caves.ticks.scheduler.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that ticks of custom mobs are dispatched to the entities they belong to, and not to the global thread
+ * Run with "mvn -pl DangerousCaves -am -P bench test". Fails with an exception if a tick went anywhere else
+ */
+public final class MobTickDispatchCheck {
+    private static final int ENTITIES = 50;
+
+    private MobTickDispatchCheck() {}
+
+    public static void main(String[] args) {
+        Fakes.installServer();
+        Plugin plugin = Fakes.fake(Plugin.class);
+        FakeScheduler scheduler = new FakeScheduler();
+        Dynamics dynamics = new Dynamics(plugin, scheduler);
+        MobsManager mobs = new MobsManager(plugin, new Configuration(plugin, "check", "1"), dynamics);
+        World world = Fakes.fake(World.class, Map.of(
+                "getName", call -> "world",
+                "isChunkLoaded", call -> true,
+                "getChunkAt", call -> Fakes.fake(Chunk.class, Map.of("getLoadLevel", chunkCall -> Chunk.LoadLevel.ENTITY_TICKING))
+        ));
+
+        List<LivingEntity> ticked = new ArrayList<>();
+        CustomMob.Ticking mob = new CheckMob(ticked);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < ENTITIES; i++) {
+            LivingEntity entity = entity(i + 1, world, (i % 7) * 16 + 3, (i / 7) * 16 + 5);
+            mobs.getRegistry().add(entity, mob);
+            expected.add(FakeScheduler.entity(entity));
+        }
+
+        mobs.tick();
+        Set<String> dispatched = new HashSet<>();
+        for (FakeScheduler.Dispatch dispatch : scheduler.getDispatches()) {
+            if (!expected.contains(dispatch.region())) {
+                throw new AssertionError("Mob tick was dispatched to " + dispatch.region() + " instead of its entity");
+            }
+            if (!dispatched.add(dispatch.region())) {
+                throw new AssertionError("Mob tick was dispatched twice to " + dispatch.region());
+            }
+        }
+        if (!dispatched.equals(expected)) {
+            throw new AssertionError("Only " + dispatched.size() + " of " + ENTITIES + " mobs got their tick dispatched");
+        }
+
+        scheduler.runAll();
+        Set<String> ran = new HashSet<>();
+        for (LivingEntity entity : ticked) ran.add(FakeScheduler.entity(entity));
+        if (ticked.size() != ENTITIES || !ran.equals(expected)) {
+            throw new AssertionError("Dispatched tasks ticked " + ticked.size() + " entities instead of " + ENTITIES);
+        }
+        dynamics.shutdown();
+        System.out.println("Mob tick dispatch checks passed: " + ENTITIES + " ticks dispatched per entity");
+    }
+
+    private static LivingEntity entity(int id, World world, int x, int z) {
+        return Fakes.fake(LivingEntity.class, Map.of(
+                "getEntityId", args -> id,
+                "isValid", args -> true,
+                "getWorld", args -> world,
+                "getLocation", args -> {
+                    Location loc = args.length == 1 ? (Location) args[0] : new Location(world, 0, 0, 0);
+                    loc.setWorld(world);
+                    loc.setX(x);
+                    loc.setY(20);
+                    loc.setZ(z);
+                    return loc;
+                }
+        ));
+    }
+
+    private record CheckMob(List<LivingEntity> ticked) implements CustomMob.Ticking {
+        @Override
+        public boolean isThis(Entity entity) {
+            return false;
+        }
+
+        @Override
+        public LivingEntity spawn(Location loc) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void tick(LivingEntity entity) {
+            ticked.add(entity);
+        }
+
+        @Override
+        public EntityType getType() {
+            return EntityType.ZOMBIE;
+        }
+
+        @Override
+        public String getCustomType() {
+            return "check";
+        }
+
+        @Override
+        public int getWeight() {
+            return 1;
+        }
+    }
+}
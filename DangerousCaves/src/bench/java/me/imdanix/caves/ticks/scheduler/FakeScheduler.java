@@ -0,0 +1,68 @@
+package me.imdanix.caves.ticks.scheduler;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scheduler that doesn't run anything by itself, but records the region every task was sent to
+ * Tasks bound to an entity are recorded as "entity:id", the ones bound to a chunk as "chunk:world:x:z"
+ * Timers are accepted and never run
+ */
+public class FakeScheduler implements Scheduler {
+    private final List<Dispatch> dispatches = new ArrayList<>();
+
+    @Override
+    public Task runTimer(Runnable task, long delay, long period) {
+        return () -> {};
+    }
+
+    @Override
+    public void run(Runnable task) {
+        dispatches.add(new Dispatch("global", task));
+    }
+
+    @Override
+    public void run(Entity entity, Runnable task) {
+        dispatches.add(new Dispatch(entity(entity), task));
+    }
+
+    @Override
+    public void run(World world, int chunkX, int chunkZ, Runnable task) {
+        dispatches.add(new Dispatch(chunk(world, chunkX, chunkZ), task));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        dispatches.add(new Dispatch("async", task));
+    }
+
+    /**
+     * Get recorded tasks in order of dispatching
+     * @return Recorded tasks
+     */
+    public List<Dispatch> getDispatches() {
+        return dispatches;
+    }
+
+    /**
+     * Run recorded tasks and forget them
+     */
+    public void runAll() {
+        List<Dispatch> copy = List.copyOf(dispatches);
+        dispatches.clear();
+        copy.forEach(dispatch -> dispatch.task().run());
+    }
+
+    public static String entity(Entity entity) {
+        return "entity:" + entity.getEntityId();
+    }
+
+    public static String chunk(World world, int chunkX, int chunkZ) {
+        return "chunk:" + world.getName() + ":" + chunkX + ":" + chunkZ;
+    }
+
+    public record Dispatch(String region, Runnable task) {}
+}
@@ -0,0 +1,65 @@
+package me.imdanix.caves.ticks.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Stand-ins for server interfaces, so code can be run without a server
+ * Methods without an answer return zero, false, empty collections or another stand-in
+ */
+public final class Fakes {
+    private Fakes() {}
+
+    /**
+     * Set stand-in server, so static calls of {@link Bukkit} don't fail, unless there's a server already
+     */
+    public static void installServer() {
+        if (Bukkit.getServer() == null) Bukkit.setServer(fake(Server.class));
+    }
+
+    public static <T> T fake(Class<T> type) {
+        return fake(type, Map.of());
+    }
+
+    /**
+     * Create a stand-in of the interface
+     * @param type Interface to implement
+     * @param answers Answers by method names, overloads share the answer
+     * @return Stand-in
+     */
+    public static <T> T fake(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) return proxy == args[0];
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) return System.identityHashCode(proxy);
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                    break;
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) return answer.apply(args == null ? new Object[0] : args);
+            Class<?> result = method.getReturnType();
+            if (result == void.class) return null;
+            if (result.isPrimitive()) return Array.get(Array.newInstance(result, 1), 0);
+            if (result == List.class || result == Collection.class) return List.of();
+            if (result == Set.class) return Set.of();
+            if (result == Map.class) return Map.of();
+            if (result == Logger.class) return Logger.getLogger(type.getName());
+            if (result.isInterface()) return fake(result);
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,138 @@
+package me.imdanix.caves.util.random;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks sampling distribution of {@link WeightedPool} and compares it with the former list based pool
+ * Run with "mvn -pl DangerousCaves -am -P bench test", or with plain javac and java against this file and the
+ * random package. Fails with an exception if the distribution is off
+ */
+public final class WeightedPoolBench {
+    private static final int ELEMENTS = 16;
+    private static final int[] SCALES = {10, 100, 1000, 10000};
+    private static final int BUILDS = 200;
+    private static final int PICKS = 10_000_000;
+    private static final int SAMPLES = 2_000_000;
+
+    private static volatile Object sink;
+
+    private WeightedPoolBench() {}
+
+    public static void main(String[] args) {
+        checkDistribution();
+        for (int scale : SCALES) bench(scale);
+    }
+
+    private static void checkDistribution() {
+        checkDistribution("uniform", 1, 1, 1, 1, 1, 1, 1, 1);
+        checkDistribution("skewed", 1, 1000, 3, 50, 7);
+        checkDistribution("fractional", 0.1, 0.25, 2.5, 0.05);
+        checkDistribution("single", 42);
+        checkDistribution("mob defaults", 4, 5, 8, 10, 7, 8, 5, 8, 8, 4, 7, 4, 6, 5);
+
+        WeightedPool<Integer> pool = new WeightedPool<>();
+        if (pool.next() != null) throw new AssertionError("Empty pool should pick null");
+        pool.add(1, 0);
+        pool.add(2, -5);
+        pool.add(3, Double.NaN);
+        pool.add(4, 1);
+        for (int i = 0; i < 1000; i++) {
+            if (pool.next() != 4) throw new AssertionError("Non-positive weights should be ignored");
+        }
+        System.out.println("Distribution checks passed");
+    }
+
+    /**
+     * Pick a lot of samples and compare frequencies with weights using Pearson's chi-squared test
+     * The threshold is far in the tail, so a correct table practically never fails
+     */
+    private static void checkDistribution(String name, double... weights) {
+        WeightedPool<Integer> pool = new WeightedPool<>();
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            pool.add(i, weights[i]);
+            sum += weights[i];
+        }
+        long[] counts = new long[weights.length];
+        for (int i = 0; i < SAMPLES; i++) counts[pool.next()]++;
+
+        double chiSquared = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double expected = SAMPLES * weights[i] / sum;
+            chiSquared += (counts[i] - expected) * (counts[i] - expected) / expected;
+        }
+        int freedom = Math.max(weights.length - 1, 1);
+        double threshold = freedom + 8 * Math.sqrt(2 * freedom);
+        System.out.printf("%-14s chi^2 = %8.2f (threshold %.2f) %s%n", name, chiSquared, threshold, Arrays.toString(counts));
+        if (chiSquared > threshold) {
+            throw new AssertionError("Distribution of \"" + name + "\" doesn't match weights: chi^2 = " + chiSquared);
+        }
+    }
+
+    private static void bench(int scale) {
+        int[] weights = new int[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) weights[i] = 1 + Rng.nextInt(scale);
+
+        // Warm up both implementations before measuring
+        for (int i = 0; i < BUILDS; i++) {
+            sink = buildList(weights).next();
+            sink = buildAlias(weights).next();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BUILDS; i++) sink = buildList(weights);
+        long listBuild = (System.nanoTime() - start) / BUILDS;
+        start = System.nanoTime();
+        for (int i = 0; i < BUILDS; i++) sink = buildAlias(weights).next();
+        long aliasBuild = (System.nanoTime() - start) / BUILDS;
+
+        ListPool<Integer> list = buildList(weights);
+        WeightedPool<Integer> alias = buildAlias(weights);
+        for (int i = 0; i < PICKS; i++) {
+            sink = list.next();
+            sink = alias.next();
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < PICKS; i++) sink = list.next();
+        double listPick = (System.nanoTime() - start) / (double) PICKS;
+        start = System.nanoTime();
+        for (int i = 0; i < PICKS; i++) sink = alias.next();
+        double aliasPick = (System.nanoTime() - start) / (double) PICKS;
+
+        System.out.printf("scale %5d: build %7.1fus list / %5.1fus alias, pick %5.1fns list / %5.1fns alias, %d list entries%n",
+                scale, listBuild / 1000.0, aliasBuild / 1000.0, listPick, aliasPick, list.size());
+    }
+
+    private static ListPool<Integer> buildList(int[] weights) {
+        ListPool<Integer> pool = new ListPool<>();
+        for (int i = 0; i < weights.length; i++) pool.add(i, weights[i]);
+        return pool;
+    }
+
+    private static WeightedPool<Integer> buildAlias(int[] weights) {
+        WeightedPool<Integer> pool = new WeightedPool<>();
+        for (int i = 0; i < weights.length; i++) pool.add(i, weights[i]);
+        return pool;
+    }
+
+    /**
+     * The former pool, that kept an entry per weight unit
+     */
+    private static final class ListPool<T> {
+        private final List<T> elements = new ArrayList<>();
+
+        void add(T element, int weight) {
+            for (int i = 0; i < weight; i++) elements.add(element);
+        }
+
+        T next() {
+            return elements.get(Rng.nextInt(elements.size()));
+        }
+
+        int size() {
+            return elements.size();
+        }
+    }
+}
@@ -10,8 +10,8 @@ import me.imdanix.caves.mobs.MobsManager;
 import me.imdanix.caves.placeholders.DCExpansion;
 import me.imdanix.caves.regions.Regions;
 import me.imdanix.caves.ticks.Dynamics;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
 import org.bstats.bukkit.Metrics;
-import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -22,6 +22,7 @@ public class DangerousCaves extends JavaPlugin {
     private MobsManager mobsManager;
     private Dynamics dynamics;
     private Configuration cfg;
+    private CavesAging cavesAging;
 
     @Override
     public void onLoad() {
@@ -36,36 +37,43 @@ public class DangerousCaves extends JavaPlugin {
     public void onEnable() {
         Regions.INSTANCE.onEnable();
 
-        dynamics = new Dynamics(this);
+        Scheduler scheduler = Scheduler.create(this);
+        dynamics = new Dynamics(this, scheduler);
         cfg = new Configuration(this, "config", YamlConfiguration.loadConfiguration(Objects.requireNonNull(getTextResource("plugin.yml"))).getString("config-version", "0"));
         cfg.create(true);
         mobsManager = new MobsManager(this, cfg, dynamics);
         DefaultMobs.registerAll(mobsManager);
 
-        AmbientSounds ambient = new AmbientSounds();
+        AmbientSounds ambient = new AmbientSounds(scheduler);
         CaveIns caveIns = new CaveIns();
-        CavesAging cavesAging = new CavesAging(this);
-        DepthHypoxia hypoxia = new DepthHypoxia(this);
+        cavesAging = new CavesAging(this, scheduler);
+        cavesAging.load();
+        DepthHypoxia hypoxia = new DepthHypoxia(this, scheduler);
 
         if (getServer().getPluginManager().isPluginEnabled("PlaceholderAPI")) {
             DCExpansion expansion = new DCExpansion(cfg);
             expansion.register(hypoxia.getPlaceholder());
+            expansion.register(mobsManager.getPlaceholder());
             expansion.register();
         }
 
-        getServer().getPluginManager().registerEvents(mobsManager, this);
-        getServer().getPluginManager().registerEvents(caveIns, this);
+        dynamics.getTimings().registerEvents(dynamics.getShards(), this);
+        dynamics.getTimings().registerEvents(mobsManager, this);
+        dynamics.getTimings().registerEvents(caveIns, this);
 
         dynamics.register(mobsManager);
         dynamics.register(ambient);
         dynamics.register(cavesAging);
         dynamics.register(hypoxia);
 
+        cfg.register(dynamics);
         cfg.register(mobsManager);
         cfg.register(ambient);
         cfg.register(cavesAging);
         cfg.register(caveIns);
         cfg.register(hypoxia);
+        // Continue the queue that was left on the last shutdown right away
+        if (cavesAging.getQueued() > 0) dynamics.resume(cavesAging);
 
         Objects.requireNonNull(getCommand("dangerouscaves")).setExecutor(new Commander(this));
 
@@ -73,12 +81,19 @@ public class DangerousCaves extends JavaPlugin {
 
         new Metrics(this, 6824);
 
-        Bukkit.getScheduler().runTask(this, () -> {
+        scheduler.run(() -> {
+            mobsManager.scanLoaded();
             Regions.INSTANCE.onDone();
             cfg.register(Regions.INSTANCE);
         });
     }
 
+    @Override
+    public void onDisable() {
+        if (dynamics != null) dynamics.shutdown();
+        if (cavesAging != null) cavesAging.save();
+    }
+
     public MobsManager getMobs() {
         return mobsManager;
     }
@@ -0,0 +1,111 @@
+package me.imdanix.caves.caverns;
+
+import me.imdanix.caves.util.LongLongMap;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Time and outcome of the last aging of every chunk, so recently aged chunks aren't queued again
+ * Time and outcome are packed into a single primitive long per chunk, so records aren't objects
+ */
+class AgingIndex {
+    private final Map<String, LongLongMap> worlds;
+
+    AgingIndex() {
+        worlds = new HashMap<>();
+    }
+
+    /**
+     * Remember aging of the chunk
+     * @param world Name of the world
+     * @param key Key of the chunk
+     * @param outcome Outcome of aging
+     * @param time Time of aging in seconds
+     */
+    void record(String world, long key, Outcome outcome, long time) {
+        worlds.computeIfAbsent(world, w -> new LongLongMap()).put(key, (time << 2) | outcome.ordinal());
+    }
+
+    /**
+     * Check if the chunk was aged recently
+     * @param world Name of the world
+     * @param key Key of the chunk
+     * @param time Current time in seconds
+     * @param cooldown Cooldown after aging in seconds
+     * @param saturatedCooldown Cooldown after aging that found too many aged blocks in seconds
+     * @return Is chunk still cooling down
+     */
+    boolean isCooling(String world, long key, long time, long cooldown, long saturatedCooldown) {
+        LongLongMap chunks = worlds.get(world);
+        long value = chunks == null ? -1 : chunks.get(key, -1);
+        if (value < 0) return false;
+        long aged = value >>> 2;
+        return time - aged < (Outcome.of(value) == Outcome.SATURATED ? saturatedCooldown : cooldown);
+    }
+
+    /**
+     * Forget chunks that were aged long enough ago
+     * @param before Time in seconds, older records are removed
+     */
+    void prune(long before) {
+        worlds.values().removeIf(chunks -> {
+            for (long key : chunks.keys()) {
+                if (chunks.get(key, 0) >>> 2 < before) chunks.remove(key);
+            }
+            return chunks.isEmpty();
+        });
+    }
+
+    void clear() {
+        worlds.clear();
+    }
+
+    void read(DataInputStream in) throws IOException {
+        for (int count = in.readInt(); count > 0; count--) {
+            String world = in.readUTF();
+            LongLongMap chunks = worlds.computeIfAbsent(world, w -> new LongLongMap());
+            for (int size = in.readInt(); size > 0; size--) {
+                long key = in.readLong();
+                chunks.put(key, in.readLong());
+            }
+        }
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(worlds.size());
+        for (Map.Entry<String, LongLongMap> entry : worlds.entrySet()) {
+            out.writeUTF(entry.getKey());
+            LongLongMap chunks = entry.getValue();
+            out.writeInt(chunks.size());
+            for (long key : chunks.keys()) {
+                out.writeLong(key);
+                out.writeLong(chunks.get(key, 0));
+            }
+        }
+    }
+
+    enum Outcome {
+        /**
+         * Chunk was scanned, but nothing was changed
+         */
+        UNCHANGED,
+        /**
+         * Chunk was scanned and aged
+         */
+        AGED,
+        /**
+         * Chunk was scanned, but it has too many aged blocks already
+         */
+        SATURATED;
+
+        private static final Outcome[] VALUES = values();
+
+        static Outcome of(long packed) {
+            return VALUES[(int) (packed & 3) % VALUES.length];
+        }
+    }
+}
@@ -4,39 +4,49 @@ import me.imdanix.caves.configuration.Configurable;
 import me.imdanix.caves.configuration.Configuration;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.Regions;
+import me.imdanix.caves.ticks.AsyncTickable;
 import me.imdanix.caves.ticks.TickLevel;
 import me.imdanix.caves.ticks.Tickable;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
 import me.imdanix.caves.util.Locations;
 import me.imdanix.caves.util.Utils;
 import me.imdanix.caves.util.random.Rng;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
-import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.function.Consumer;
 
-public class AmbientSounds implements Tickable, Configurable {
+public class AmbientSounds implements AsyncTickable<Player, AmbientSounds.Echo>, Tickable.Sharded, Configurable {
+    private final Scheduler scheduler;
     private boolean disabled;
 
-    private final List<WrappedSound> sounds;
+    private List<WrappedSound> sounds;
     private final Set<String> worlds;
+    private final Deque<Player> players;
+    private final List<Location> soundSources;
     private double chance;
     private double radius;
     private int yMax;
     private boolean worldSound;
     private double worldDistance;
 
-    public AmbientSounds() {
-        sounds = new ArrayList<>();
+    public AmbientSounds(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        sounds = List.of();
         worlds = new HashSet<>();
+        players = new ArrayDeque<>();
+        soundSources = new ArrayList<>();
     }
 
     @Override
@@ -44,7 +54,7 @@ public class AmbientSounds implements Tickable, Configurable {
         chance = cfg.getDouble("chance", 25) / 100;
         yMax = cfg.getInt("y-max", 64);
         radius = cfg.getDouble("near", 7);
-        sounds.clear();
+        List<WrappedSound> sounds = new ArrayList<>();
         for (String soundStr : Configuration.section(cfg, "sounds").getKeys(false)) {
             Sound sound = Utils.getEnum(Sound.class, soundStr.toUpperCase(Locale.ROOT));
             if (sound == null) continue;
@@ -55,6 +65,7 @@ public class AmbientSounds implements Tickable, Configurable {
             ));
         }
         if (sounds.isEmpty()) chance = 0;
+        this.sounds = List.copyOf(sounds); // Swapped instead of cleared, as workers may read it
         worldSound = cfg.getBoolean("server-wise", true);
         worldDistance = cfg.getDouble("server-wise-distance", 0); worldDistance *= worldDistance;
         Utils.fillWorlds(cfg.getStringList("worlds"), worlds);
@@ -63,28 +74,53 @@ public class AmbientSounds implements Tickable, Configurable {
     }
 
     @Override
-    public void tick() {
+    public void reset() {
+        players.clear();
+        soundSources.clear();
+    }
+
+    @Override
+    public void tick(Collection<? extends Player> players) {
         if (disabled) return;
-        List<Location> soundSources = worldSound && worldDistance > 0 ? new ArrayList<>() : null;
-        for (World world : Bukkit.getWorlds()) {
-            if (!worlds.contains(world.getName())) continue;
-            for (Player player : world.getPlayers()) {
-                Location loc = player.getLocation();
-                if (loc.getBlockY() > yMax || !Locations.isCave(loc) || !Rng.chance(chance) ||
-                        !Regions.INSTANCE.isAllowed(ActionType.EFFECT, loc)) continue;
-                if (worldSound && soundSources != null) {
-                    boolean check = false;
-                    for (Location source : soundSources) {
-                        if (source.distanceSquared(loc) > worldDistance) continue;
-                        check = true;
-                        break;
-                    }
-                    if (check) continue;
-                    soundSources.add(loc);
-                }
-                Rng.randomElement(sounds).play(player, worldSound);
+        for (Player player : players) {
+            if (worlds.contains(player.getWorld().getName())) this.players.addLast(player);
+        }
+    }
+
+    @Override
+    public boolean gather(long deadline, Consumer<Player> inputs) {
+        Player player;
+        do {
+            if ((player = players.pollFirst()) == null) return false;
+            if (!player.isOnline() || !worlds.contains(player.getWorld().getName())) continue;
+            Location loc = player.getLocation();
+            if (loc.getBlockY() <= yMax && Locations.isCave(loc)) inputs.accept(player);
+        } while (System.nanoTime() < deadline);
+        return !players.isEmpty();
+    }
+
+    @Override
+    public Echo compute(Player player) {
+        if (!Rng.chance(chance)) return null;
+        return radius > 0
+                ? new Echo(player, Rng.randomElement(sounds),
+                        Rng.nextDouble(-radius, radius), Rng.nextDouble(-radius, radius), Rng.nextDouble(-radius, radius))
+                : new Echo(player, Rng.randomElement(sounds), 0, 0, 0);
+    }
+
+    @Override
+    public void apply(Echo echo) {
+        Player player = echo.player();
+        if (!player.isOnline()) return;
+        Location loc = player.getLocation();
+        if (!Regions.INSTANCE.isAllowed(ActionType.EFFECT, loc)) return;
+        if (worldSound && worldDistance > 0) {
+            for (Location source : soundSources) {
+                if (source.getWorld() == loc.getWorld() && source.distanceSquared(loc) <= worldDistance) return;
             }
+            soundSources.add(loc);
         }
+        scheduler.run(player, () -> echo.sound().play(player, echo.x(), echo.y(), echo.z(), worldSound));
     }
 
     @Override
@@ -97,6 +133,8 @@ public class AmbientSounds implements Tickable, Configurable {
         return "caverns.ambient";
     }
 
+    record Echo(Player player, WrappedSound sound, double x, double y, double z) {}
+
     private class WrappedSound {
         private final Sound sound;
         private final float volume;
@@ -108,12 +146,8 @@ public class AmbientSounds implements Tickable, Configurable {
             this.pitch = (float) pitch;
         }
 
-        public void play(Player player, boolean world) {
-            Location loc = player.getEyeLocation();
-            if (radius > 0)
-                loc.add(Rng.nextDouble(-radius, radius),
-                        Rng.nextDouble(-radius, radius),
-                        Rng.nextDouble(-radius, radius));
+        public void play(Player player, double x, double y, double z, boolean world) {
+            Location loc = player.getEyeLocation().add(x, y, z);
             if (world) {
                 loc.getWorld().playSound(loc, sound, SoundCategory.AMBIENT, volume, pitch);
             } else {
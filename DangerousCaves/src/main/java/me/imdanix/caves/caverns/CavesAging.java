@@ -4,8 +4,10 @@ import io.papermc.lib.PaperLib;
 import me.imdanix.caves.configuration.Configurable;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.Regions;
+import me.imdanix.caves.ticks.AsyncTickable;
 import me.imdanix.caves.ticks.TickLevel;
-import me.imdanix.caves.ticks.Tickable;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
+import me.imdanix.caves.util.IntList;
 import me.imdanix.caves.util.Locations;
 import me.imdanix.caves.util.Materials;
 import me.imdanix.caves.util.Utils;
@@ -23,16 +25,35 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
-
-public class CavesAging implements Tickable, Configurable {
+import java.util.logging.Level;
+
+public class CavesAging implements AsyncTickable<CavesAging.AgingChunk, CavesAging.AgedChunk>, Configurable {
+    private static final String QUEUE_FILE = "aging-queue.dat";
+    private static final String INDEX_FILE = "aging-index.dat";
+    private static final ChangeType[] CHANGE_TYPES = ChangeType.values();
+    private static final int[] NO_CHANGES = new int[0];
+    // Scans are done on worker threads, every one of them reuses its own buffer
+    private static final ThreadLocal<IntList> SCAN_BUFFER = ThreadLocal.withInitial(() -> new IntList(64));
     private static final Set<Material> AGING_MATERIALS = new Materials.Builder(
             Material.COBBLESTONE, Material.STONE_BUTTON,
             Material.ANDESITE, Material.COBBLESTONE_WALL,
@@ -40,10 +61,16 @@ public class CavesAging implements Tickable, Configurable {
     ).build(true);
 
     private final Plugin plugin;
+    private final Scheduler scheduler;
     private final Map<String, Set<Bound>> skippedChunks; // TODO Make part of RegionManager instead
     private final Set<String> worlds;
+    private final Set<QueuedChunk> queue;
+    private final Set<QueuedChunk> inFlight;
+    private final AgingIndex index;
 
     private boolean disabled;
+    private int timer;
+    private int nextPlayer;
 
     private Set<Material> replaceBlocks;
     private int lightLevel;
@@ -52,6 +79,11 @@ public class CavesAging implements Tickable, Configurable {
     private double chance;
     private double agingChance;
     private int schedule;
+    private int perRun;
+    private long maxNanos;
+    private int queueSize;
+    private long cooldown;
+    private long saturatedCooldown;
     private boolean forceLoad;
 
     private double torchRemove;
@@ -64,10 +96,14 @@ public class CavesAging implements Tickable, Configurable {
     private boolean withMushrooms;
     private boolean withReplace;
 
-    public CavesAging(Plugin plugin) {
+    public CavesAging(Plugin plugin, Scheduler scheduler) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         skippedChunks = new HashMap<>();
         worlds = new HashSet<>();
+        queue = new LinkedHashSet<>();
+        inFlight = ConcurrentHashMap.newKeySet();
+        index = new AgingIndex();
     }
 
     @Override
@@ -87,6 +123,11 @@ public class CavesAging implements Tickable, Configurable {
             lightLevelCheck = (b) -> true;
         }
         schedule = Math.max(cfg.getInt("schedule-timer", 4), 1);
+        perRun = Math.max(cfg.getInt("chunks-per-run", 1), 1);
+        maxNanos = (long) (Math.max(cfg.getDouble("max-millis", 1), 0) * 1_000_000);
+        queueSize = Math.max(cfg.getInt("queue-size", 4096), 1);
+        cooldown = Math.max(cfg.getLong("cooldown", 0), 0) * 60;
+        saturatedCooldown = Math.max(cfg.getLong("saturated-cooldown", 1440), 0) * 60;
         forceLoad = cfg.getBoolean("force-load", true);
         torchRemove = cfg.getDouble("torch-remove-chance", 40) / 100;
         Utils.fillWorlds(cfg.getStringList("worlds"), worlds);
@@ -114,43 +155,195 @@ public class CavesAging implements Tickable, Configurable {
         disabled = !cfg.getBoolean("enabled", true);
     }
 
+    /**
+     * Queue chunks near players. Chunks that are queued already keep their place, so unfinished work is continued
+     * Chunks that were aged recently aren't queued at all
+     * If the queue gets full, the next cycle starts from the player that didn't fit, so every player gets a turn
+     */
     @Override
     public void tick() {
-        if (disabled) return;
-
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            for (String worldName : worlds) {
-                World world = Bukkit.getWorld(worldName);
-                if (world == null) continue;
-                Set<QueuedChunk> chunks = new HashSet<>();
-                for (Player player : world.getPlayers()) {
-                    if (!player.isOnline() || player.getWorld() != world) continue;
-                    Location startLoc = player.getLocation();
-                    int xCenter = startLoc.getBlockX() >> 4;
-                    int zCenter = startLoc.getBlockZ() >> 4;
-                    for (int x = xCenter - radius, xMax = xCenter + radius; x <= xMax; x++) {
-                        for (int z = zCenter - radius, zMax = zCenter + radius; z <= zMax; z++) {
-                            if (isAllowed(world, x, z)) {
-                                chunks.add(new QueuedChunk(x, z));
-                            }
-                        }
-                    }
+        if (disabled) {
+            queue.clear();
+            return;
+        }
+        long now = System.currentTimeMillis() / 1000;
+        index.prune(now - Math.max(cooldown, saturatedCooldown));
+
+        List<Player> players = new ArrayList<>();
+        for (String worldName : worlds) {
+            World world = Bukkit.getWorld(worldName);
+            if (world != null) players.addAll(world.getPlayers());
+        }
+        if (players.isEmpty()) return;
+        int start = nextPlayer % players.size();
+        for (int i = 0; i < players.size(); i++) {
+            int current = (start + i) % players.size();
+            if (!queueAround(players.get(current), now)) {
+                nextPlayer = current;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queue chunks around the player
+     * @return Were all the chunks handled, false if the queue got full
+     */
+    private boolean queueAround(Player player, long now) {
+        World world = player.getWorld();
+        String worldName = world.getName();
+        Location startLoc = player.getLocation();
+        int xCenter = startLoc.getBlockX() >> 4;
+        int zCenter = startLoc.getBlockZ() >> 4;
+        for (int x = xCenter - radius, xMax = xCenter + radius; x <= xMax; x++) {
+            for (int z = zCenter - radius, zMax = zCenter + radius; z <= zMax; z++) {
+                if (queue.size() >= queueSize) return false;
+                if (isAllowed(world, x, z) &&
+                        !index.isCooling(worldName, Locations.chunkKey(x, z), now, cooldown, saturatedCooldown)) {
+                    queue.add(new QueuedChunk(worldName, x, z));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Take a batch of queued chunks, limited by amount of chunks and time
+     */
+    @Override
+    public boolean gather(long deadline, Consumer<AgingChunk> inputs) {
+        if (disabled) {
+            queue.clear();
+            return false;
+        }
+        if (++timer < schedule) return !queue.isEmpty();
+        timer = 0;
+        long stop = Math.min(deadline, System.nanoTime() + maxNanos);
+        Iterator<QueuedChunk> iterator = queue.iterator();
+        for (int i = 0; i < perRun && iterator.hasNext(); i++) {
+            QueuedChunk queuedChunk = iterator.next();
+            iterator.remove();
+            World world = Bukkit.getWorld(queuedChunk.world());
+            if (world != null && Rng.chance(chance)) {
+                if (world.isChunkLoaded(queuedChunk.x(), queuedChunk.z())) {
+                    inFlight.add(queuedChunk);
+                    scheduler.run(world, queuedChunk.x(), queuedChunk.z(),
+                            () -> inputs.accept(snapshot(world.getChunkAt(queuedChunk.x(), queuedChunk.z()))));
+                } else if (forceLoad) {
+                    inFlight.add(queuedChunk);
+                    PaperLib.getChunkAtAsync(world, queuedChunk.x(), queuedChunk.z()).whenComplete((loaded, error) -> {
+                        if (loaded == null) inFlight.remove(queuedChunk);
+                        else inputs.accept(snapshot(loaded));
+                    });
+                }
+            }
+            if (System.nanoTime() >= stop) break;
+        }
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Load queued chunks that were left unprocessed on the last shutdown, and times of the last aging
+     */
+    public void load() {
+        File indexFile = new File(plugin.getDataFolder(), INDEX_FILE);
+        if (indexFile.isFile()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+                index.read(in);
+            } catch (IOException e) {
+                index.clear();
+                plugin.getLogger().log(Level.WARNING, "Failed to load caves aging index", e);
+            }
+        }
+        File file = new File(plugin.getDataFolder(), QUEUE_FILE);
+        if (!file.isFile()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            for (int worlds = in.readInt(); worlds > 0; worlds--) {
+                String world = in.readUTF();
+                for (int chunks = in.readInt(); chunks > 0; chunks--) {
+                    long key = in.readLong();
+                    queue.add(new QueuedChunk(world, Locations.chunkX(key), Locations.chunkZ(key)));
                 }
-                if (chunks.isEmpty()) continue;
-                Utils.runIteratingTask(plugin, chunks, (queuedChunk) -> {
-                    Chunk chunk = queuedChunk.getChunk(world);
-                    if (chunk == null || !chunk.isLoaded()) {
-                        if (forceLoad) {
-                            PaperLib.getChunkAtAsync(world, queuedChunk.x, queuedChunk.z).thenAccept(
-                                    this::proceedChunk
-                            );
-                        }
-                    } else proceedChunk(chunk);
-                }, schedule);
             }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load caves aging queue", e);
+        }
+    }
+
+    /**
+     * Save queued chunks and times of the last aging, so aging is continued after restart
+     * Chunks that were taken from the queue, but weren't applied yet, are saved in front of the queue
+     */
+    public void save() {
+        if (!inFlight.isEmpty()) {
+            Set<QueuedChunk> restored = new LinkedHashSet<>(inFlight);
+            restored.addAll(queue);
+            queue.clear();
+            queue.addAll(restored);
+            inFlight.clear();
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(plugin.getDataFolder(), INDEX_FILE))))) {
+            index.write(out);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save caves aging index", e);
+        }
+        File file = new File(plugin.getDataFolder(), QUEUE_FILE);
+        if (queue.isEmpty()) {
+            if (file.isFile() && !file.delete()) plugin.getLogger().warning("Failed to delete caves aging queue");
+            return;
+        }
+        Map<String, List<QueuedChunk>> byWorld = new LinkedHashMap<>();
+        for (QueuedChunk chunk : queue) byWorld.computeIfAbsent(chunk.world(), w -> new ArrayList<>()).add(chunk);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(byWorld.size());
+            for (Map.Entry<String, List<QueuedChunk>> entry : byWorld.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (QueuedChunk chunk : entry.getValue()) out.writeLong(Locations.chunkKey(chunk.x(), chunk.z()));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save caves aging queue", e);
+        }
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    @Override
+    public AgedChunk compute(AgingChunk aging) {
+        IntList changes = SCAN_BUFFER.get();
+        changes.clear();
+        if (!calculateChanges(aging, changes)) return new AgedChunk(aging.chunk(), NO_CHANGES, AgingIndex.Outcome.SATURATED);
+        return changes.isEmpty()
+               ? new AgedChunk(aging.chunk(), NO_CHANGES, AgingIndex.Outcome.UNCHANGED)
+               : new AgedChunk(aging.chunk(), changes.toArray(), AgingIndex.Outcome.AGED);
+    }
+
+    @Override
+    public void apply(AgedChunk aged) {
+        Chunk chunk = aged.chunk();
+        inFlight.remove(new QueuedChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ()));
+        // Nothing may be changed just by chance, so such chunks aren't held back
+        if (aged.outcome() != AgingIndex.Outcome.UNCHANGED) {
+            index.record(chunk.getWorld().getName(), Locations.chunkKey(chunk.getX(), chunk.getZ()), aged.outcome(),
+                    System.currentTimeMillis() / 1000);
+        }
+        if (aged.changes().length == 0) return;
+        scheduler.run(chunk.getWorld(), chunk.getX(), chunk.getZ(), () -> {
+            if (!chunk.isLoaded()) return;
+            for (int change : aged.changes()) perform(chunk, change);
         });
     }
 
+    /**
+     * Forget the chunk that won't be applied, so it isn't put back to the queue on shutdown
+     */
+    @Override
+    public void discard(AgingChunk aging) {
+        inFlight.remove(new QueuedChunk(aging.world().getName(), aging.baseX() >> 4, aging.baseZ() >> 4));
+    }
+
     private boolean isAllowed(World world, int x, int z) {
         Set<Bound> worldBounds = skippedChunks.get(world.getName());
         if (worldBounds == null) return true;
@@ -159,85 +352,113 @@ public class CavesAging implements Tickable, Configurable {
         return true;
     }
 
-    private void proceedChunk(Chunk chunk) {
-        Location edge = chunk.getBlock(0, chunk.getWorld().getMinHeight(), 0).getLocation();
-        ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
-        int minHeight = chunk.getWorld().getMinHeight();
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            if (!Rng.chance(chance)) return;
-            List<DelayedChange> changes = calculateChanges(edge, snapshot, minHeight);
-            if (changes.isEmpty()) return;
+    private static AgingChunk snapshot(Chunk chunk) {
+        World world = chunk.getWorld();
+        return new AgingChunk(chunk, chunk.getChunkSnapshot(true, false, false), world,
+                chunk.getX() << 4, chunk.getZ() << 4, world.getMinHeight());
+    }
 
-            plugin.getServer().getScheduler().runTask(plugin, () -> changes.forEach(change -> change.perform(chunk)));
-        });
+    /**
+     * Pack a change into a single int: 12 bits of Y, 4 bits of X, 4 bits of Z and 4 bits of type
+     */
+    private static int change(int x, int y, int z, ChangeType type) {
+        return (y + 2048) << 12 | x << 8 | z << 4 | type.ordinal();
     }
 
-    private List<DelayedChange> calculateChanges(Location edge, ChunkSnapshot snapshot, int minHeight) {
-        List<DelayedChange> changes = new ArrayList<>();
+    /**
+     * Scan the chunk, writing packed changes to the buffer
+     * Columns are scanned up to their highest block, empty sections are skipped
+     * Scanning stops as soon as the chunk can't be suitable, whatever the rest of it is
+     * @param aging Chunk to scan
+     * @param changes Where to write changes
+     * @return Is chunk suitable for aging, false if it has too many aged blocks already
+     */
+    private boolean calculateChanges(AgingChunk aging, IntList changes) {
+        ChunkSnapshot snapshot = aging.snapshot();
+        int minHeight = aging.minHeight();
+
+        int bottom = minHeight + 2;
+        // Columns end at their highest block, so air above the surface isn't scanned
+        int[] tops = new int[256];
+        int remaining = 0;
+        for (int column = 0; column < 256; column++) {
+            tops[column] = Math.min(yMax, snapshot.getHighestBlockYAt(column >> 4, column & 15));
+            remaining += Math.max(tops[column] - bottom + 1, 0);
+        }
 
         int affectedCount = 0;
         int totalCount = 0;
-        for (int x = 0; x < 16; x++) for (int z = 0; z < 16; z++) for (int y = minHeight + 2; y <= yMax; y++) { // TODO Configurable aging script
-            Material type = snapshot.getBlockType(x, y, z);
-            if (type.isAir()) continue;
+        for (int column = 0; column < 256; column++) {
+            // Even if every block left isn't aged, the chunk would still have too many aged blocks
+            if (affectedCount / (double) (totalCount + remaining + 1) > percentage) return false;
+            int x = column >> 4, z = column & 15, top = tops[column];
+            remaining -= Math.max(top - bottom + 1, 0);
+            for (int y = bottom; y <= top; y++) { // TODO Configurable aging script
+                if (snapshot.isSectionEmpty((y - minHeight) >> 4)) {
+                    y = minHeight + ((y - minHeight) | 15); // Skip to the end of the section
+                    continue;
+                }
+                Material type = snapshot.getBlockType(x, y, z);
+                if (type.isAir()) continue;
 
-            totalCount++;
+                totalCount++;
 
-            if (AGING_MATERIALS.contains(type)) {
-                affectedCount++;
-            }
-
-            if (snapshot.getBlockSkyLight(x, y, z) > 0) {
-                break; // We're breaking Y for-loop, as there's no reason to check further
-            }
+                if (AGING_MATERIALS.contains(type)) {
+                    affectedCount++;
+                }
 
-            if (lightLevel >= 0 && (
-                    snapshot.getBlockEmittedLight(x, y, z) >= lightLevel ||
-                    snapshot.getBlockEmittedLight(x, y+1, z) >= lightLevel ||
-                    snapshot.getBlockEmittedLight(x, y-1, z) >= lightLevel
-            )) continue;
+                if (snapshot.getBlockSkyLight(x, y, z) > 0) {
+                    break; // We're breaking Y for-loop, as there's no reason to check further
+                }
 
-            if (!Regions.INSTANCE.isAllowed(ActionType.BLOCK, Locations.add(edge, x, y, z))) {
-                continue;
-            }
+                if (lightLevel >= 0 && (
+                        snapshot.getBlockEmittedLight(x, y, z) >= lightLevel ||
+                        snapshot.getBlockEmittedLight(x, y+1, z) >= lightLevel ||
+                        snapshot.getBlockEmittedLight(x, y-1, z) >= lightLevel
+                )) continue;
 
-            if (type == Material.TORCH) {
-                if (torchRemove > 0 && Rng.chance(torchRemove)) {
-                    changes.add(new DelayedChange(x, y, z, ChangeType.TORCH_AIR));
+                if (!Regions.INSTANCE.isAllowed(ActionType.BLOCK, aging.world(), aging.baseX() + x, y, aging.baseZ() + z)) {
+                    continue;
                 }
-            } else if (replaceBlocks.contains(type) && Rng.chance(agingChance)) {
-                if (withReplace) {
-                    switch (Rng.nextInt(6)) {
-                        case 0:
-                            changes.add(new DelayedChange(x, y, z, ChangeType.ANDESITE));
-                            break;
-
-                        case 1:
-                            changes.add(new DelayedChange(x, y, z, ChangeType.COBBLESTONE));
-                            break;
-
-                        case 2:
-                            if (snapshot.getBlockType(x, y-1, z).isAir() && Rng.nextBoolean())
-                                changes.add(new DelayedChange(x, y-1, z, ChangeType.STALAGMITE));
-                            break;
+
+                if (type == Material.TORCH) {
+                    if (torchRemove > 0 && Rng.chance(torchRemove)) {
+                        changes.add(change(x, y, z, ChangeType.TORCH_AIR));
+                    }
+                } else if (replaceBlocks.contains(type) && Rng.chance(agingChance)) {
+                    if (withReplace) {
+                        switch (Rng.nextInt(6)) {
+                            case 0:
+                                changes.add(change(x, y, z, ChangeType.ANDESITE));
+                                break;
+
+                            case 1:
+                                changes.add(change(x, y, z, ChangeType.COBBLESTONE));
+                                break;
+
+                            case 2:
+                                if (snapshot.getBlockType(x, y-1, z).isAir() && Rng.nextBoolean())
+                                    changes.add(change(x, y-1, z, ChangeType.STALAGMITE));
+                                break;
+                        }
                     }
-                }
 
-                if (withVines && Rng.chance(0.125)) {
-                    changes.add(new DelayedChange(x, y, z, ChangeType.VINE));
-                }
+                    if (withVines && Rng.chance(0.125)) {
+                        changes.add(change(x, y, z, ChangeType.VINE));
+                    }
 
-                if (snapshot.getBlockType(x, y+1, z).isAir()){
-                    if (withMushrooms && Rng.chance(0.111)) {
-                        changes.add(new DelayedChange(x, y+1, z, Rng.nextBoolean() ? ChangeType.RED_MUSHROOM : ChangeType.BROWN_MUSHROOM));
-                    } else if (withRocks && Rng.chance(0.167)) {
-                        changes.add(new DelayedChange(x, y+1, z, ChangeType.ROCK));
+                    if (snapshot.getBlockType(x, y+1, z).isAir()){
+                        if (withMushrooms && Rng.chance(0.111)) {
+                            changes.add(change(x, y+1, z, Rng.nextBoolean() ? ChangeType.RED_MUSHROOM : ChangeType.BROWN_MUSHROOM));
+                        } else if (withRocks && Rng.chance(0.167)) {
+                            changes.add(change(x, y+1, z, ChangeType.ROCK));
+                        }
                     }
                 }
             }
         }
 
-        return affectedCount / (double) ++totalCount > percentage ? Collections.emptyList() : changes;
+        return affectedCount / (double) ++totalCount <= percentage;
     }
 
     @Override
@@ -250,77 +471,64 @@ public class CavesAging implements Tickable, Configurable {
         return "caverns.aging";
     }
 
-    private class DelayedChange {
-        private final int x;
-        private final int y;
-        private final int z;
-        private final ChangeType changeType;
-
-        public DelayedChange(int x, int y, int z, ChangeType changeType) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.changeType = changeType;
-        }
-    
-        public void perform(Chunk chunk) {
-            Block block = chunk.getBlock(x, y, z);
-            Material type = block.getType();
-            if (!lightLevelCheck.test(block)) return;
-            switch (changeType) {
-                case VINE -> {
-                    if (!replaceBlocks.contains(type)) return;
-                    for (BlockFace face : Locations.HORIZONTAL_FACES) {
-                        Block relBlock = block.getRelative(face);
-                        if (relBlock.getType().isAir()) {
-                            relBlock.setType(Material.VINE, false);
-                            Materials.rotate(relBlock, face.getOppositeFace());
-                        }
+    private void perform(Chunk chunk, int change) {
+        int y = (change >>> 12) - 2048;
+        Block block = chunk.getBlock(change >>> 8 & 15, y, change >>> 4 & 15);
+        Material type = block.getType();
+        if (!lightLevelCheck.test(block)) return;
+        switch (CHANGE_TYPES[change & 15]) {
+            case VINE -> {
+                if (!replaceBlocks.contains(type)) return;
+                for (BlockFace face : Locations.HORIZONTAL_FACES) {
+                    Block relBlock = block.getRelative(face);
+                    if (relBlock.getType().isAir()) {
+                        relBlock.setType(Material.VINE, false);
+                        Materials.rotate(relBlock, face.getOppositeFace());
                     }
                 }
-                case RED_MUSHROOM -> {
-                    if (!type.isAir() || !Materials.isCave(block.getRelative(BlockFace.DOWN).getType())) return;
-                    if (block.getLightLevel() > 12) return;
-                    block.setType(Material.RED_MUSHROOM, false);
-                }
-                case BROWN_MUSHROOM -> {
-                    if (!type.isAir() || !Materials.isCave(block.getRelative(BlockFace.DOWN).getType())) return;
-                    if (block.getLightLevel() > 12) return;
-                    block.setType(Material.BROWN_MUSHROOM, false);
-                }
-                case ROCK -> {
-                    if (!type.isAir() || !Materials.isCave(block.getRelative(BlockFace.DOWN).getType()))
-                        return;
-                    block.setType(Material.STONE_BUTTON, false);
-                    Materials.rotate(block, BlockFace.UP);
-                }
-                case STALAGMITE -> {
-                    if (!type.isAir()) return;
-                    block.setType(Material.COBBLESTONE_WALL, false);
-                }
-                case COBBLESTONE -> {
-                    if (!replaceBlocks.contains(type)) return;
-                    block.setType(type == Material.DEEPSLATE ? Material.COBBLED_DEEPSLATE : Material.COBBLESTONE, false);
-                }
-                case ANDESITE -> {
-                    if (!replaceBlocks.contains(type)) return;
-                    block.setType(Material.ANDESITE, false);
-                }
-                case TORCH_AIR -> {
-                    if (type != Material.TORCH) return;
-                    block.setType(Material.AIR, false);
-                }
+            }
+            case RED_MUSHROOM -> {
+                if (!type.isAir() || !Materials.isCave(block.getRelative(BlockFace.DOWN).getType())) return;
+                if (block.getLightLevel() > 12) return;
+                block.setType(Material.RED_MUSHROOM, false);
+            }
+            case BROWN_MUSHROOM -> {
+                if (!type.isAir() || !Materials.isCave(block.getRelative(BlockFace.DOWN).getType())) return;
+                if (block.getLightLevel() > 12) return;
+                block.setType(Material.BROWN_MUSHROOM, false);
+            }
+            case ROCK -> {
+                if (!type.isAir() || !Materials.isCave(block.getRelative(BlockFace.DOWN).getType()))
+                    return;
+                block.setType(Material.STONE_BUTTON, false);
+                Materials.rotate(block, BlockFace.UP);
+            }
+            case STALAGMITE -> {
+                if (!type.isAir()) return;
+                block.setType(Material.COBBLESTONE_WALL, false);
+            }
+            case COBBLESTONE -> {
+                if (!replaceBlocks.contains(type)) return;
+                block.setType(type == Material.DEEPSLATE ? Material.COBBLED_DEEPSLATE : Material.COBBLESTONE, false);
+            }
+            case ANDESITE -> {
+                if (!replaceBlocks.contains(type)) return;
+                block.setType(Material.ANDESITE, false);
+            }
+            case TORCH_AIR -> {
+                if (type != Material.TORCH) return;
+                block.setType(Material.AIR, false);
             }
         }
     }
-    
+
     private enum ChangeType {
         VINE, RED_MUSHROOM, BROWN_MUSHROOM, ROCK, STALAGMITE, COBBLESTONE, ANDESITE, TORCH_AIR
     }
 
-    private record QueuedChunk(int x, int z) {
-        public Chunk getChunk(World world) {
-            return world.isChunkLoaded(x, z) ? world.getChunkAt(x, z) : null;
-        }
-    }
+    private record QueuedChunk(String world, int x, int z) {}
+
+    record AgingChunk(Chunk chunk, ChunkSnapshot snapshot, World world, int baseX, int baseZ, int minHeight) {}
+
+    record AgedChunk(Chunk chunk, int[] changes, AgingIndex.Outcome outcome) {}
 }
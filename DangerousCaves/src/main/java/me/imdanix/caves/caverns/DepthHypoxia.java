@@ -5,8 +5,10 @@ import me.imdanix.caves.configuration.Configurable;
 import me.imdanix.caves.placeholders.Placeholder;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.Regions;
+import me.imdanix.caves.ticks.AsyncTickable;
 import me.imdanix.caves.ticks.TickLevel;
 import me.imdanix.caves.ticks.Tickable;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
 import me.imdanix.caves.util.Locations;
 import me.imdanix.caves.util.Utils;
 import me.imdanix.caves.util.random.Rng;
@@ -16,7 +18,6 @@ import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -26,123 +27,143 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
-import java.util.function.Predicate;
+import java.util.function.Consumer;
 
-public class DepthHypoxia implements Tickable, Configurable {
+public class DepthHypoxia implements AsyncTickable<DepthHypoxia.Breath, DepthHypoxia.Suffocation>, Tickable.Sharded, Configurable {
     private static final PotionEffect SLOW = new PotionEffect(PotionEffectType.SLOWNESS, 120, 1);
     private static final PotionEffect SLOW_DIGGING = new PotionEffect(PotionEffectType.MINING_FATIGUE, 55, 1);
 
     private final Plugin plugin;
+    private final Scheduler scheduler;
 
     private final Set<String> worlds;
+    private final Deque<Player> players;
     private final HypoxiaChancePlaceholder placeholder;
 
     private boolean disabled;
 
     private final List<String> messages;
     private boolean actionbar;
-    private double chance;
-    private double maxChance;
-    private double minChance;
     private int yMax;
 
-    private FormulaEvaluator formula;
-    private Predicate<Player> condition;
+    private volatile Settings settings;
 
-    public DepthHypoxia(Plugin plugin) {
+    public DepthHypoxia(Plugin plugin, Scheduler scheduler) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         worlds = new HashSet<>();
+        players = new ArrayDeque<>();
         messages = new ArrayList<>();
         placeholder = new HypoxiaChancePlaceholder();
     }
 
     @Override
     public void reload(ConfigurationSection cfg) {
-        chance = cfg.getDouble("try-chance", 60) / 100;
-        maxChance = cfg.getDouble("chance-max", 90) / 100;
-        minChance = cfg.getDouble("chance-min", 10) / 100;
+        settings = new Settings(
+                cfg.getString("chance-formula", "depth*inventory"),
+                cfg.getDouble("try-chance", 60) / 100,
+                cfg.getDouble("chance-min", 10) / 100,
+                cfg.getDouble("chance-max", 90) / 100
+        );
         yMax = cfg.getInt("y-max", 42);
         actionbar = cfg.getBoolean("actionbar", true) && PaperLib.isSpigot();
         messages.clear();
         messages.addAll(Utils.clr(cfg.getStringList("messages")));
         Utils.fillWorlds(cfg.getStringList("worlds"), worlds);
-        formula = new FormulaEvaluator(cfg.getString("chance-formula", "depth*inventory"), MathDictionary.INSTANCE);
-
-        condition = placeholder.isEnabled() ? this::checkConditionsPH : this::checkConditions;
 
         disabled = !cfg.getBoolean("enabled", true);
     }
 
     @Override
-    public void tick() {
+    public void reset() {
+        players.clear();
+    }
+
+    @Override
+    public void tick(Collection<? extends Player> players) {
         if (disabled) return;
+        for (Player player : players) { // TODO Custom effects
+            if (worlds.contains(player.getWorld().getName())) this.players.addLast(player);
+        }
+    }
 
-        for (World world : Bukkit.getWorlds()) { // TODO Custom effects
-            if (!worlds.contains(world.getName())) continue;
-            for (Player player : world.getPlayers()) {
-                if (!condition.test(player)) continue;
-                player.addPotionEffect(SLOW);
-                player.addPotionEffect(SLOW_DIGGING);
-                if (messages.isEmpty()) continue;
-                String text = Rng.randomElement(messages).replace("%player", player.getName());
-                if (actionbar) {
-                    // Spigot still doesn't have Player#sendActionBar, bruh
-                    player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(text));
-                } else {
-                    player.sendMessage(text);
-                }
+    @Override
+    public boolean gather(long deadline, Consumer<Breath> inputs) {
+        Player player;
+        do {
+            if ((player = players.pollFirst()) == null) return false;
+            if (!player.isOnline() || !worlds.contains(player.getWorld().getName())) continue;
+            Location loc = player.getLocation();
+            if (!Locations.isCave(loc) || loc.getY() > yMax) {
+                placeholder.removePlayer(player);
+                continue;
             }
-        }
+            inputs.accept(new Breath(player, getDepth(loc), getInventory(player), placeholder.isEnabled(), settings));
+        } while (System.nanoTime() < deadline);
+        return !players.isEmpty();
     }
 
-    private boolean checkConditions(Player player) {
-        Location loc = player.getLocation();
-        return Locations.isCave(loc) && loc.getY() <= yMax &&
-                Rng.chance(chance) && Rng.chance(getChance(player)) &&
-                Regions.INSTANCE.isAllowed(ActionType.EFFECT, loc);
+    @Override
+    public Suffocation compute(Breath breath) {
+        Settings current = breath.settings();
+        boolean tried = Rng.chance(current.chance);
+        if (!tried && !breath.cache()) return null;
+        double hypoxiaChance = current.getChance(breath.depth(), breath.inventory());
+        return new Suffocation(breath.player(), hypoxiaChance, tried && Rng.chance(hypoxiaChance));
     }
 
-    private boolean checkConditionsPH(Player player) {
-        return checkConditionsPH(player, true);
+    @Override
+    public void apply(Suffocation suffocation) {
+        Player player = suffocation.player();
+        if (!player.isOnline()) return;
+        if (placeholder.isEnabled()) placeholder.cachePlayer(suffocation.chance(), player);
+        if (!suffocation.affect() || !Regions.INSTANCE.isAllowed(ActionType.EFFECT, player.getLocation())) return;
+        String text = messages.isEmpty() ? null : Rng.randomElement(messages).replace("%player", player.getName());
+        scheduler.run(player, () -> {
+            player.addPotionEffect(SLOW);
+            player.addPotionEffect(SLOW_DIGGING);
+            if (text == null) return;
+            if (actionbar) {
+                // Spigot still doesn't have Player#sendActionBar, bruh
+                player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(text));
+            } else {
+                player.sendMessage(text);
+            }
+        });
     }
 
-    private boolean checkConditionsPH(Player player, boolean check) {
+    private void refresh(Player player) {
         Location loc = player.getLocation();
         if (!Locations.isCave(loc) || loc.getY() > yMax) {
             placeholder.removePlayer(player);
-            return false;
-        }
-        if (check && Rng.chance(chance)) {
-            double hypoxiaChance;
-            boolean chanceCheck = Rng.chance(hypoxiaChance = getChance(player));
-            placeholder.cachePlayer(hypoxiaChance, player);
-            return chanceCheck && Regions.INSTANCE.isAllowed(ActionType.EFFECT, loc);
         } else {
-            placeholder.cachePlayer(getChance(player), player);
-            return false;
+            placeholder.cachePlayer(settings.getChance(getDepth(loc), getInventory(player)), player);
         }
     }
 
-    private double getChance(Player player) {
-        double yMin = player.getWorld().getMinHeight();
-        double depthChance = 1d - (player.getLocation().getY() - yMin) / (yMax - yMin);
+    private double getDepth(Location loc) {
+        double yMin = loc.getWorld().getMinHeight();
+        return 1d - (loc.getY() - yMin) / (yMax - yMin);
+    }
+
+    private static double getInventory(Player player) {
         double weightChance = 0;
         ItemStack[] contents = player.getInventory().getContents();
         for (ItemStack item : contents) {
             if (item == null) continue;
             weightChance += item.getAmount() / (float) item.getMaxStackSize();
         }
-        weightChance /= contents.length;
-        double calcChance = formula.eval(Map.of("depth", depthChance, "inventory", weightChance));
-        return Math.max(minChance, Math.min(maxChance, calcChance));
+        return weightChance / contents.length;
     }
 
     @Override
@@ -159,11 +180,41 @@ public class DepthHypoxia implements Tickable, Configurable {
         return placeholder;
     }
 
+    record Breath(Player player, double depth, double inventory, boolean cache, Settings settings) {}
+
+    record Suffocation(Player player, double chance, boolean affect) {}
+
+    /**
+     * Settings that are used on worker threads. Replaced as a whole on reload, so computations in progress
+     * keep using the settings they were gathered with
+     * Formula evaluators aren't known to be thread-safe, so every thread gets its own
+     */
+    static final class Settings {
+        private final ThreadLocal<FormulaEvaluator> formula;
+        private final double chance;
+        private final double minChance;
+        private final double maxChance;
+
+        private Settings(String formula, double chance, double minChance, double maxChance) {
+            this.formula = ThreadLocal.withInitial(() -> new FormulaEvaluator(formula, MathDictionary.INSTANCE));
+            // Parsed right away, so errors of the formula are reported on reload
+            this.formula.get();
+            this.chance = chance;
+            this.minChance = minChance;
+            this.maxChance = maxChance;
+        }
+
+        private double getChance(double depthChance, double weightChance) {
+            double calcChance = formula.get().eval(Map.of("depth", depthChance, "inventory", weightChance));
+            return Math.max(minChance, Math.min(maxChance, calcChance));
+        }
+    }
+
     @Before("caverns.hypoxia")
     private class HypoxiaChancePlaceholder implements Placeholder, Configurable {
         private final Map<Player, String> chances;
         private boolean enabled;
-        private BukkitTask task;
+        private Scheduler.Task task;
         private boolean tryChance;
         private Listener joinListener;
 
@@ -186,15 +237,15 @@ public class DepthHypoxia implements Tickable, Configurable {
                 tryChance = cfg.getBoolean("respect-try-chance", true);
                 int schedule = cfg.getInt("schedule", 200);
                 if (schedule > 0) {
-                    task = Bukkit.getScheduler().runTaskTimer(plugin, () ->
-                            Bukkit.getOnlinePlayers().forEach(p -> checkConditionsPH(p, false)),
+                    task = scheduler.runTimer(() ->
+                            Bukkit.getOnlinePlayers().forEach(DepthHypoxia.this::refresh),
                             schedule, schedule);
                 }
                 if (cfg.getBoolean("calculate-on-join", true)) {
                     Bukkit.getPluginManager().registerEvents(joinListener = new Listener() {
                         @EventHandler
                         public void onJoin(PlayerJoinEvent event) {
-                            checkConditionsPH(event.getPlayer());
+                            refresh(event.getPlayer());
                         }
                     }, plugin);
                 }
@@ -206,7 +257,7 @@ public class DepthHypoxia implements Tickable, Configurable {
         }
 
         public void cachePlayer(double hypoxiaChance, Player player) {
-            chances.put(player, Double.toString(Math.floor(hypoxiaChance * (tryChance ? 10000 * chance : 10000)) / 100));
+            chances.put(player, Double.toString(Math.floor(hypoxiaChance * (tryChance ? 10000 * settings.chance : 10000)) / 100));
         }
 
         public void removePlayer(Player player) {
@@ -2,9 +2,12 @@ package me.imdanix.caves.commands;
 
 import me.imdanix.caves.DangerousCaves;
 import me.imdanix.caves.configuration.Configuration;
+import me.imdanix.caves.mobs.MobRegistry;
 import me.imdanix.caves.mobs.MobsManager;
+import me.imdanix.caves.mobs.SpawnQueue;
 import me.imdanix.caves.ticks.Dynamics;
 import me.imdanix.caves.ticks.TickLevel;
+import me.imdanix.caves.ticks.Timings;
 import me.imdanix.caves.util.TagHelper;
 import me.imdanix.caves.util.Utils;
 import org.bukkit.Bukkit;
@@ -31,12 +34,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 
 // TODO: Refactor, split to different classes
 public class Commander implements CommandExecutor, TabCompleter {
-    private static final List<String> ARGS = Arrays.asList("info", "summon", "spawn", "kill", "tick", "reload", "r", "mimeremove");
+    private static final List<String> ARGS = Arrays.asList("info", "summon", "spawn", "kill", "tick", "timings", "stats", "reload", "r", "mimeremove");
     private static final Set<String> WITH_MOBS = new HashSet<>(Arrays.asList("summon", "spawn", "kill"));
 
     private final MobsManager mobsManager;
@@ -86,7 +91,7 @@ public class Commander implements CommandExecutor, TabCompleter {
                     sender.sendMessage(Utils.clr("&aSuccessfully killed all DC mobs."));
                 } else {
                     String type = args[1].toLowerCase(Locale.ROOT);
-                    if (mobsManager.getMob(type) == null) {
+                    if (mobsManager.getMob(type) != null) {
                         killAll(entity -> {if (TagHelper.isTagged(entity, type)) entity.remove();});
                         sender.sendMessage(Utils.clr("&aSuccessfully killed all DC mobs of type &e" + type + "&a."));
                     } else {
@@ -134,6 +139,41 @@ public class Commander implements CommandExecutor, TabCompleter {
                 sender.sendMessage(Utils.clr("&aTicked every tickables."));
             }
 
+            case "timings" -> {
+                if (!sender.hasPermission("dangerouscaves.command.timings")) return false;
+                if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+                    dynamics.getTimings().reset();
+                    sender.sendMessage(Utils.clr("&aTimings were reset."));
+                    return true;
+                }
+                sender.sendMessage(Utils.clr("&6&lDangerousCaves&e timings &7(p50 / p95 / max, ms)"));
+                for (Timings.Timing timing : dynamics.getTimings().getTimings()) {
+                    if (timing.getCalls() == 0) continue;
+                    long[] percentiles = timing.getPercentiles(50, 95, 100);
+                    sender.sendMessage(Utils.clr("&e " + timing.getComponent() + " &7" + timing.getSection() + "&f: " +
+                            millis(percentiles[0]) + " / " + millis(percentiles[1]) + " / " +
+                            millis(percentiles[2]) + " &7(" + timing.getCalls() + " calls)"));
+                }
+            }
+
+            case "stats" -> {
+                if (!sender.hasPermission("dangerouscaves.command.stats")) return false;
+                MobRegistry registry = mobsManager.getRegistry();
+                sender.sendMessage(Utils.clr("&6&lDangerousCaves&e stats"));
+                sender.sendMessage(Utils.clr("&e Loaded mobs&f: " + registry.size()));
+                for (World world : Bukkit.getWorlds()) {
+                    Map<String, Integer> population = registry.getPopulation(world);
+                    if (population.isEmpty()) continue;
+                    StringBuilder builder = new StringBuilder("&7  " + world.getName() + "&f:");
+                    new TreeMap<>(population).forEach((type, count) -> builder.append(" &e").append(type).append("&f ").append(count));
+                    sender.sendMessage(Utils.clr(builder.toString()));
+                }
+                SpawnQueue queue = mobsManager.getSpawnQueue();
+                sender.sendMessage(Utils.clr("&e Spawn queue&f: " + queue.getDepth() + " queued, " + queue.getSpawned() +
+                        " spawned, " + queue.getDroppedFull() + " dropped when full, " + queue.getDroppedStale() + " dropped as stale"));
+                sender.sendMessage(Utils.clr("&e Worker queue&f: " + dynamics.getPending() + " units"));
+            }
+
             case "reload", "r" -> {
                 if (!sender.hasPermission("dangerouscaves.command.reload")) return false;
                 cfg.reloadYml();
@@ -201,9 +241,15 @@ public class Commander implements CommandExecutor, TabCompleter {
         }
     }
 
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000d);
+    }
+
     private void killAll(Consumer<LivingEntity> kill) {
-        for (World world : Bukkit.getWorlds()) for (Entity entity : world.getEntities()) {
-            if (entity instanceof LivingEntity living && TagHelper.isTagged(living)) kill.accept(living);
+        MobRegistry registry = mobsManager.getRegistry();
+        for (LivingEntity entity : registry.getEntities()) {
+            kill.accept(entity);
+            if (!entity.isValid()) registry.remove(entity);
         }
     }
 
@@ -213,6 +259,8 @@ public class Commander implements CommandExecutor, TabCompleter {
         sender.sendMessage(Utils.clr("&a /" + label + " summon <mob> [x] [y] [z] [yaw] [pitch] [world] &7- Spawn a &emob&7 on your or desired location."));
         sender.sendMessage(Utils.clr("&a /" + label + " kill [mob] &7- Kill all DC mobs (of type &emob&7 if specified)."));
         sender.sendMessage(Utils.clr("&a /" + label + " tick &7- Tick everything manually."));
+        sender.sendMessage(Utils.clr("&a /" + label + " timings [reset] &7- Show how long plugin's parts take."));
+        sender.sendMessage(Utils.clr("&a /" + label + " stats &7- Show amount of DC mobs and queues state."));
         sender.sendMessage(Utils.clr("&a /" + label + " reload &7- Reload plugin configuration."));
     }
 }
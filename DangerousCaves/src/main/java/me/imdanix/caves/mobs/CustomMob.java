@@ -4,6 +4,15 @@ import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.EntityTargetEvent;
+
+import java.util.function.Consumer;
 
 /**
  * Main interface for mobs
@@ -19,6 +28,7 @@ public interface CustomMob {
 
     /**
      * Check if custom mob can be spawned on location
+     * Called after mob is picked from spawn tables, so only for checks that can't be described by them
      * @param loc Where to check
      * @return Is mob can be spawned there
      */
@@ -33,6 +43,19 @@ public interface CustomMob {
      */
     LivingEntity spawn(Location loc);
 
+    /**
+     * Spawn a new {@link LivingEntity} of this custom mob, applying additional setup before it's added to the world
+     * Mobs that can't configure entities before adding them apply the setup right after spawning
+     * @param loc Where to spawn an entity
+     * @param setup Additional setup of the entity
+     * @return Spawned entity
+     */
+    default LivingEntity spawn(Location loc, Consumer<LivingEntity> setup) {
+        LivingEntity entity = spawn(loc);
+        setup.accept(entity);
+        return entity;
+    }
+
     /**
      * Setup some mob settings (effects, equipment etc.)
      * @param entity Entity to setup
@@ -60,6 +83,34 @@ public interface CustomMob {
      */
     int getWeight();
 
+    /**
+     * Get mob's weight in spawn tables at some height
+     * @param y Y coordinate of spawning
+     * @return Mob's weight at the height
+     */
+    default double getWeight(int y) {
+        return getWeight();
+    }
+
+    /**
+     * Get maximal light level at which mob can spawn
+     * Used to build spawn tables, so mob is never picked where it can't spawn
+     * @return Light level from 0 to 15
+     */
+    default int getMaxSpawnLight() {
+        return 15;
+    }
+
+    /**
+     * Check if custom mob can be spawned in world
+     * Used to build spawn tables
+     * @param world Name of the world
+     * @return Is mob can be spawned there
+     */
+    default boolean canSpawn(String world) {
+        return true;
+    }
+
     interface Ticking extends CustomMob {
         /**
          * Spawn a new {@link LivingEntity} of this custom mob
@@ -69,5 +120,95 @@ public interface CustomMob {
         LivingEntity spawn(Location loc);
 
         void tick(LivingEntity entity);
+
+        /**
+         * Get how often entities of this mob should be ticked
+         * @return Interval in {@link me.imdanix.caves.ticks.TickLevel#ENTITY} periods, at least 1
+         */
+        default int getTickInterval() {
+            return 1;
+        }
+
+        /**
+         * Get shift of the tick interval
+         * @return Offset in {@link me.imdanix.caves.ticks.TickLevel#ENTITY} periods, less than interval
+         */
+        default int getTickOffset() {
+            return 0;
+        }
+    }
+
+    // Hooks below are called by MobEventRouter only for entities of the mob, even if event was cancelled
+    // Hooks are called at NORMAL priority, except explosions that are called at HIGHEST
+
+    interface Damaged extends CustomMob {
+        /**
+         * Called when entity of this mob is damaged
+         * @param entity Damaged entity
+         * @param event Damage event, may be {@link EntityDamageByEntityEvent}
+         */
+        void onDamaged(LivingEntity entity, EntityDamageEvent event);
+
+        /**
+         * Get priority at which {@link #onDamaged(LivingEntity, EntityDamageEvent)} is called
+         * @return {@link EventPriority#NORMAL} or {@link EventPriority#HIGHEST}
+         */
+        default EventPriority getDamagedPriority() {
+            return EventPriority.NORMAL;
+        }
+    }
+
+    interface Attacking extends CustomMob {
+        /**
+         * Called when entity of this mob damages another entity
+         * @param entity Attacking entity
+         * @param event Damage event
+         */
+        void onAttack(LivingEntity entity, EntityDamageByEntityEvent event);
+
+        /**
+         * Get priority at which {@link #onAttack(LivingEntity, EntityDamageByEntityEvent)} is called
+         * @return {@link EventPriority#NORMAL} or {@link EventPriority#HIGHEST}
+         */
+        default EventPriority getAttackPriority() {
+            return EventPriority.NORMAL;
+        }
+    }
+
+    interface PlayerAttacking extends CustomMob {
+        /**
+         * Called when entity of this mob damages a player, at HIGH priority. Not called for cancelled events
+         * @param entity Attacking entity
+         * @param player Damaged player
+         * @param event Damage event
+         */
+        void onAttack(LivingEntity entity, Player player, EntityDamageByEntityEvent event);
+    }
+
+    interface Targeting extends CustomMob {
+        /**
+         * Called when entity of this mob changes its target
+         * @param entity Targeting entity
+         * @param event Target event
+         */
+        void onTarget(LivingEntity entity, EntityTargetEvent event);
+    }
+
+    interface Exploding extends CustomMob {
+        /**
+         * Called when entity of this mob explodes
+         * @param entity Exploding entity
+         * @param event Explosion event
+         */
+        void onExplode(LivingEntity entity, EntityExplodeEvent event);
+    }
+
+    interface Dying extends CustomMob {
+        /**
+         * Called when entity of this mob dies
+         * @param entity Dying entity
+         * @param event Death event
+         */
+        void onDeath(LivingEntity entity, EntityDeathEvent event);
     }
 }
@@ -0,0 +1,113 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.util.random.Rng;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Equipment of a custom mob, built once when the mob is configured
+ * Every slot has its own variants and one of them is picked on spawn
+ * Items aren't cloned, as entity equipment copies them anyway
+ */
+public class EquipmentTemplate {
+    private final List<Slot> slots;
+
+    public EquipmentTemplate() {
+        slots = new ArrayList<>();
+    }
+
+    /**
+     * Add slot that is always equipped
+     * @param slot Slot to equip
+     * @param variants Items to pick from
+     * @return This template
+     */
+    public EquipmentTemplate add(EquipmentSlot slot, ItemStack... variants) {
+        return add(slot, 1, variants);
+    }
+
+    /**
+     * Add slot that is equipped with a chance
+     * @param slot Slot to equip
+     * @param chance Chance to equip the slot, from 0 to 1
+     * @param variants Items to pick from
+     * @return This template
+     */
+    public EquipmentTemplate add(EquipmentSlot slot, double chance, ItemStack... variants) {
+        if (variants.length > 0) slots.add(new Slot(slot, chance, variants.clone()));
+        return this;
+    }
+
+    /**
+     * Add slot that is always equipped
+     * @param slot Slot to equip
+     * @param variants Items to pick from
+     * @return This template
+     */
+    public EquipmentTemplate add(EquipmentSlot slot, Collection<ItemStack> variants) {
+        return add(slot, variants.toArray(new ItemStack[0]));
+    }
+
+    /**
+     * Add slot that is always emptied
+     * @param slot Slot to empty
+     * @return This template
+     */
+    public EquipmentTemplate clear(EquipmentSlot slot) {
+        slots.add(new Slot(slot, 1, new ItemStack[]{null}));
+        return this;
+    }
+
+    /**
+     * Set drop chance of the last added slot
+     * @param dropChance Chance to drop an item on death, from 0 to 1
+     * @return This template
+     */
+    public EquipmentTemplate drop(float dropChance) {
+        if (!slots.isEmpty()) slots.get(slots.size() - 1).dropChance = dropChance;
+        return this;
+    }
+
+    /**
+     * Equip an entity
+     * @param equipment Equipment of the entity
+     */
+    public void apply(EntityEquipment equipment) {
+        for (Slot slot : slots) {
+            if (slot.chance < 1 && !Rng.chance(slot.chance)) continue;
+            ItemStack[] variants = slot.variants;
+            equipment.setItem(slot.slot, variants.length == 1 ? variants[0] : variants[Rng.nextInt(variants.length)]);
+            if (slot.dropChance >= 0) setDropChance(equipment, slot.slot, slot.dropChance);
+        }
+    }
+
+    private static void setDropChance(EntityEquipment equipment, EquipmentSlot slot, float chance) {
+        switch (slot) {
+            case HAND -> equipment.setItemInMainHandDropChance(chance);
+            case OFF_HAND -> equipment.setItemInOffHandDropChance(chance);
+            case HEAD -> equipment.setHelmetDropChance(chance);
+            case CHEST -> equipment.setChestplateDropChance(chance);
+            case LEGS -> equipment.setLeggingsDropChance(chance);
+            case FEET -> equipment.setBootsDropChance(chance);
+            default -> {}
+        }
+    }
+
+    private static final class Slot {
+        private final EquipmentSlot slot;
+        private final double chance;
+        private final ItemStack[] variants;
+        private float dropChance = -1;
+
+        private Slot(EquipmentSlot slot, double chance, ItemStack[] variants) {
+            this.slot = slot;
+            this.chance = chance;
+            this.variants = variants;
+        }
+    }
+}
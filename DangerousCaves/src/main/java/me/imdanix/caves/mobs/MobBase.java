@@ -10,7 +10,12 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 @Configurable.Before("mobs")
 public abstract class MobBase implements CustomMob, Configurable {
@@ -27,6 +32,15 @@ public abstract class MobBase implements CustomMob, Configurable {
     private final Double defHealth;
     protected Double health;
 
+    private Set<String> worlds;
+    private int[] depths;
+    private double[] depthWeights;
+
+    private int tickInterval;
+    private int tickOffset;
+
+    private EquipmentTemplate equipment;
+
     public MobBase(EntityType type, String id, int weight) {
         this(type, id, weight, null);
     }
@@ -59,9 +73,39 @@ public abstract class MobBase implements CustomMob, Configurable {
         return weight;
     }
 
+    @Override
+    public double getWeight(int y) {
+        double result = weight;
+        for (int i = 0; i < depths.length && depths[i] <= y; i++) result = depthWeights[i];
+        return result;
+    }
+
+    @Override
+    public boolean canSpawn(String world) {
+        return worlds.isEmpty() || worlds.contains(world);
+    }
+
+    /**
+     * Used by {@link CustomMob.Ticking} mobs
+     */
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * Used by {@link CustomMob.Ticking} mobs
+     */
+    public int getTickOffset() {
+        return tickOffset;
+    }
+
     @Override
     public void reload(ConfigurationSection cfg) {
         weight = cfg.getInt("priority", defWeight);
+        worlds = new HashSet<>(cfg.getStringList("worlds"));
+        loadDepthWeights(cfg.getConfigurationSection("depth-priority"));
+        tickInterval = Math.max(cfg.getInt("tick-interval", 1), 1);
+        tickOffset = Math.floorMod(cfg.getInt("tick-offset", 0), tickInterval);
         String nameCfg = cfg.getString("name", defName);
         name = nameCfg == null || nameCfg.isEmpty() ? null : Utils.clr(cfg.getString("name", defName));
         if (cfg.isDouble("health")) {
@@ -72,8 +116,37 @@ public abstract class MobBase implements CustomMob, Configurable {
         configure(cfg);
     }
 
+    /**
+     * Load priorities that override the default one starting from some Y coordinate
+     * @param cfg Section with Y coordinates as keys and priorities as values
+     */
+    private void loadDepthWeights(ConfigurationSection cfg) {
+        TreeMap<Integer, Double> weights = new TreeMap<>();
+        if (cfg != null) for (String key : cfg.getKeys(false)) {
+            try {
+                weights.put(Integer.parseInt(key), Math.max(cfg.getDouble(key), 0));
+            } catch (NumberFormatException ignored) {}
+        }
+        depths = new int[weights.size()];
+        depthWeights = new double[weights.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> entry : weights.entrySet()) {
+            depths[i] = entry.getKey();
+            depthWeights[i++] = entry.getValue();
+        }
+    }
+
     protected abstract void configure(ConfigurationSection cfg);
 
+    /**
+     * Set equipment that is applied on spawn before {@link #prepare(LivingEntity)}
+     * Should be built in {@link #configure(ConfigurationSection)}, so items aren't created on every spawn
+     * @param equipment Equipment template or null to keep the default equipment
+     */
+    protected void setEquipment(EquipmentTemplate equipment) {
+        this.equipment = equipment;
+    }
+
     @Override
     public boolean isThis(Entity entity) {
         return entity instanceof LivingEntity && entity.getScoreboardTags().contains(scoreboardTag);
@@ -81,11 +154,21 @@ public abstract class MobBase implements CustomMob, Configurable {
 
     @Override
     public LivingEntity spawn(Location loc) {
-        LivingEntity entity = (LivingEntity) loc.getWorld().spawnEntity(loc, type);
-        entity.setCustomName(name);
-        if (health != null) Utils.setMaxHealth(entity, health);
-        prepare(entity);
-        return entity;
+        return spawn(loc, entity -> {});
+    }
+
+    @Override
+    public LivingEntity spawn(Location loc, Consumer<LivingEntity> setup) {
+        // Entity is configured before it's added to the world, so trackers receive it already set up
+        Consumer<Entity> configure = created -> {
+            LivingEntity entity = (LivingEntity) created;
+            entity.setCustomName(name);
+            if (health != null) Utils.setMaxHealth(entity, health);
+            if (equipment != null && entity.getEquipment() != null) equipment.apply(entity.getEquipment());
+            prepare(entity);
+            setup.accept(entity);
+        };
+        return (LivingEntity) loc.getWorld().spawn(loc, type.getEntityClass(), configure);
     }
 
     @Override
@@ -0,0 +1,109 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.ticks.TickLevel;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
+import me.imdanix.caves.util.LongMap;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes custom mobs that had no players around for a while, and the farthest ones when a world has too many of them
+ * Distances are checked per chunk rather than per entity, using chunk groups of the registry
+ */
+public class MobCulling {
+    // Distance from the center of a chunk to its corner
+    private static final double HALF_DIAGONAL = 8 * Math.sqrt(2);
+
+    private final MobRegistry registry;
+    private final PlayerPositions positions;
+    private final Scheduler scheduler;
+    private final Set<String> exempt;
+    private LongMap<long[]> farSince;
+
+    private boolean enabled;
+    private int interval;
+    private double radius;
+    private long delay;
+    private int maxPerWorld;
+
+    public MobCulling(MobRegistry registry, PlayerPositions positions, Scheduler scheduler) {
+        this.registry = registry;
+        this.positions = positions;
+        this.scheduler = scheduler;
+        exempt = new HashSet<>();
+        farSince = new LongMap<>();
+    }
+
+    public void reload(ConfigurationSection cfg) {
+        enabled = cfg.getBoolean("enabled", true);
+        interval = Math.max(cfg.getInt("interval", 5) * 20 / TickLevel.ENTITY.getTicks(), 1);
+        radius = Math.max(cfg.getDouble("radius", 128), 0) + HALF_DIAGONAL;
+        radius *= radius;
+        delay = Math.max(cfg.getInt("delay", 60), 0) * 20L / TickLevel.ENTITY.getTicks();
+        maxPerWorld = cfg.getInt("max-per-world", 200);
+        exempt.clear();
+        exempt.addAll(cfg.getStringList("exempt"));
+    }
+
+    /**
+     * Check mobs if it's time. Players positions should be updated beforehand
+     * @param tick Current tick, in {@link TickLevel#ENTITY} periods
+     */
+    public void tick(long tick) {
+        if (!enabled || tick % interval != 0) return;
+        LongMap<long[]> seen = new LongMap<>(farSince.size());
+        List<LivingEntity> remove = new ArrayList<>();
+        Map<World, int[]> counts = new HashMap<>();
+        Map<World, List<Candidate>> candidates = new HashMap<>();
+        registry.forEachChunk((world, chunkX, chunkZ, entities) -> {
+            double distance = positions.distanceSquared(world, (chunkX << 4) + 8, (chunkZ << 4) + 8);
+            int[] count = counts.computeIfAbsent(world, w -> new int[1]);
+            List<Candidate> worldCandidates = candidates.computeIfAbsent(world, w -> new ArrayList<>());
+            for (LivingEntity entity : entities) {
+                count[0]++;
+                // Persistent mobs, e.g. name-tagged ones, are never culled
+                if (!entity.getRemoveWhenFarAway()) continue;
+                CustomMob mob = registry.getMob(entity);
+                if (mob != null && exempt.contains(mob.getCustomType())) continue;
+                if (distance > radius) {
+                    long[] since = farSince.get(entity.getEntityId());
+                    if (since == null) since = new long[] {tick};
+                    if (tick - since[0] >= delay) {
+                        remove.add(entity);
+                        count[0]--;
+                        continue;
+                    }
+                    seen.put(entity.getEntityId(), since);
+                }
+                worldCandidates.add(new Candidate(entity, distance));
+            }
+        });
+        // Forget entities that are gone or came back to players
+        farSince = seen;
+
+        if (maxPerWorld > 0) candidates.forEach((world, worldCandidates) -> {
+            int excess = counts.get(world)[0] - maxPerWorld;
+            if (excess <= 0) return;
+            worldCandidates.sort(Comparator.comparingDouble(Candidate::distance).reversed());
+            for (int i = 0; i < excess && i < worldCandidates.size(); i++) remove.add(worldCandidates.get(i).entity());
+        });
+
+        for (LivingEntity entity : remove) {
+            scheduler.run(entity, () -> {
+                entity.remove();
+                registry.remove(entity);
+            });
+        }
+    }
+
+    record Candidate(LivingEntity entity, double distance) {}
+}
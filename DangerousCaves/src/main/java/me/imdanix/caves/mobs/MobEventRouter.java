@@ -0,0 +1,125 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.ticks.Timings;
+import me.imdanix.caves.util.PlayerAttackedEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.EntityTargetEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Single listener for events of custom mobs
+ * Resolves the entity to its custom mob once and passes the event only to hooks of that mob
+ * Hooks are called at the same priorities as the listeners of mobs were, so the order against other plugins is kept
+ */
+public class MobEventRouter implements Listener {
+    private final MobRegistry registry;
+    private final Timings timings;
+    private final Plugin plugin;
+    private final Listener late;
+    private boolean lateRegistered;
+
+    // Damage event is passed through several priorities, so its mobs are resolved only once
+    private EntityDamageEvent resolved;
+    private CustomMob damagerMob;
+    private CustomMob victimMob;
+
+    public MobEventRouter(MobRegistry registry, Timings timings, Plugin plugin) {
+        this.registry = registry;
+        this.timings = timings;
+        this.plugin = plugin;
+        late = new Listener() {};
+    }
+
+    /**
+     * Start listening to damage at {@link EventPriority#HIGHEST} if the mob needs it
+     * Most of the mobs don't, so every damage on the server doesn't go through one more handler for nothing
+     * @param mob Registered custom mob
+     */
+    public void watch(CustomMob mob) {
+        if (lateRegistered) return;
+        if (!(mob instanceof CustomMob.Damaged damaged && damaged.getDamagedPriority() == EventPriority.HIGHEST) &&
+                !(mob instanceof CustomMob.Attacking attacking && attacking.getAttackPriority() == EventPriority.HIGHEST))
+            return;
+        lateRegistered = true;
+        timings.registerEvent(EntityDamageEvent.class, late, EventPriority.HIGHEST, (l, event) -> {
+            if (event instanceof EntityDamageEvent damage) onDamage(damage, EventPriority.HIGHEST);
+        }, plugin, false);
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onDamage(EntityDamageEvent event) {
+        onDamage(event, EventPriority.NORMAL);
+    }
+
+    private void onDamage(EntityDamageEvent event, EventPriority priority) {
+        resolve(event);
+        if (damagerMob instanceof CustomMob.Attacking mob && mob.getAttackPriority() == priority) {
+            mob.onAttack((LivingEntity) ((EntityDamageByEntityEvent) event).getDamager(), (EntityDamageByEntityEvent) event);
+        }
+        if (victimMob instanceof CustomMob.Damaged mob && mob.getDamagedPriority() == priority) {
+            mob.onDamaged((LivingEntity) event.getEntity(), event);
+        }
+    }
+
+    private void resolve(EntityDamageEvent event) {
+        if (event == resolved) return;
+        resolved = event;
+        damagerMob = event instanceof EntityDamageByEntityEvent byEntity &&
+                byEntity.getDamager() instanceof LivingEntity damager ? getMob(damager) : null;
+        victimMob = event.getEntity() instanceof LivingEntity entity ? getMob(entity) : null;
+    }
+
+    /**
+     * Custom mobs get a direct call, while {@link PlayerAttackedEvent} is only created when someone listens to it
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerAttack(EntityDamageByEntityEvent event) {
+        if (!(event.getEntity() instanceof Player player) || !(event.getDamager() instanceof LivingEntity attacker)) return;
+        resolve(event);
+        if (damagerMob instanceof CustomMob.PlayerAttacking mob) {
+            mob.onAttack(attacker, player, event);
+            if (event.isCancelled()) return;
+        }
+        if (PlayerAttackedEvent.getHandlerList().getRegisteredListeners().length == 0) return;
+        PlayerAttackedEvent pEvent = new PlayerAttackedEvent(player, attacker, event.getDamage());
+        Bukkit.getPluginManager().callEvent(pEvent);
+        if (pEvent.getDamage() != event.getDamage()) event.setDamage(pEvent.getDamage());
+        if (pEvent.isCancelled()) event.setCancelled(true);
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onTarget(EntityTargetEvent event) {
+        if (event.getEntity() instanceof LivingEntity entity && getMob(entity) instanceof CustomMob.Targeting mob) {
+            mob.onTarget(entity, event);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onExplode(EntityExplodeEvent event) {
+        if (event.getEntity() instanceof LivingEntity entity && getMob(entity) instanceof CustomMob.Exploding mob) {
+            mob.onExplode(entity, event);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onDeath(EntityDeathEvent event) {
+        LivingEntity entity = event.getEntity();
+        if (getMob(entity) instanceof CustomMob.Dying mob) {
+            mob.onDeath(entity, event);
+        }
+    }
+
+    private CustomMob getMob(Entity entity) {
+        return registry.getMob(entity);
+    }
+}
@@ -0,0 +1,47 @@
+package me.imdanix.caves.mobs;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.LivingEntity;
+
+/**
+ * Level of detail of mobs ticking, based on the distance to the nearest player
+ * Near mobs are ticked every time, mobs at the mid range are ticked less often and far ones aren't ticked at all
+ */
+public class MobLod {
+    private final PlayerPositions positions;
+    private final Location cursor;
+
+    private boolean enabled;
+    private double near;
+    private double far;
+    private int midInterval;
+
+    public MobLod(PlayerPositions positions) {
+        this.positions = positions;
+        cursor = new Location(null, 0, 0, 0);
+    }
+
+    public void reload(ConfigurationSection cfg) {
+        enabled = cfg.getBoolean("enabled", true);
+        near = cfg.getDouble("near", 32); near *= near;
+        far = Math.max(cfg.getDouble("far", 96), Math.sqrt(near)); far *= far;
+        midInterval = Math.max(cfg.getInt("mid-interval", 4), 1);
+    }
+
+    /**
+     * Check if the entity should be ticked now
+     * Players positions should be updated beforehand
+     * @param entity Entity to check
+     * @param tick Current tick of the mob, counted in its own tick intervals
+     * @return Should the entity be ticked
+     */
+    public boolean shouldTick(LivingEntity entity, long tick) {
+        if (!enabled) return true;
+        Location loc = entity.getLocation(cursor);
+        double distance = positions.distanceSquared(loc.getWorld(), loc.getX(), loc.getY(), loc.getZ());
+        if (distance <= near) return true;
+        // Entity id spreads mid range mobs among ticks
+        return distance <= far && Math.floorMod(tick + entity.getEntityId(), midInterval) == 0;
+    }
+}
@@ -0,0 +1,311 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.util.Locations;
+import me.imdanix.caves.util.LongMap;
+import me.imdanix.caves.util.TagHelper;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps handles of loaded custom mobs grouped by world and chunk, so they can be ticked without looking them up
+ * Entities are added on spawn and load, and removed on death and unload
+ * Amount of entities per chunk, region and type is kept along, so it's known without scanning entities
+ */
+public class MobRegistry implements Listener {
+    private static final Tracked[] EMPTY = new Tracked[0];
+
+    private final Map<World, LongMap<List<Tracked>>> chunks;
+    private final LongMap<Tracked> byId;
+    private final Location cursor;
+    private final Map<World, Map<String, int[]>> population;
+    private final Map<String, int[]> totals;
+    private PopulationGrid regions;
+
+    public MobRegistry() {
+        chunks = new HashMap<>();
+        byId = new LongMap<>(256);
+        cursor = new Location(null, 0, 0, 0);
+        regions = new PopulationGrid(4);
+        population = new HashMap<>();
+        totals = new HashMap<>();
+    }
+
+    /**
+     * Set size of regions that entities are counted in
+     * @param size Size of a region side in chunks
+     */
+    public synchronized void setRegionSize(int size) {
+        if (regions.getSize() == Math.max(size, 1)) return;
+        PopulationGrid grid = new PopulationGrid(size);
+        byId.forEach((id, tracked) -> grid.add(tracked.world, tracked.key));
+        regions = grid;
+    }
+
+    /**
+     * Add loaded entity of the custom mob
+     * @param entity Entity to add
+     * @param mob Related custom mob or null if its type isn't registered
+     */
+    public synchronized void add(LivingEntity entity, CustomMob mob) {
+        if (byId.containsKey(entity.getEntityId())) return;
+        Location loc = entity.getLocation(cursor);
+        String type = mob != null ? mob.getCustomType() : TagHelper.getTag(entity);
+        Tracked tracked = new Tracked(entity, mob, type == null ? "unknown" : type);
+        link(tracked, loc.getWorld(), Locations.chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+        byId.put(entity.getEntityId(), tracked);
+    }
+
+    /**
+     * Remove entity from the registry
+     * @param entity Entity to remove
+     */
+    public synchronized void remove(Entity entity) {
+        Tracked tracked = byId.remove(entity.getEntityId());
+        if (tracked != null) unlink(tracked);
+    }
+
+    /**
+     * Get custom mob of the entity
+     * @param entity Entity to check
+     * @return Custom mob or null if entity isn't a registered custom mob
+     */
+    public synchronized CustomMob getMob(Entity entity) {
+        Tracked tracked = byId.get(entity.getEntityId());
+        return tracked == null ? null : tracked.mob;
+    }
+
+    /**
+     * Get custom mobs in the chunk
+     * @param world World of the chunk
+     * @param chunkX X coordinate of the chunk
+     * @param chunkZ Z coordinate of the chunk
+     * @return Entities that were in the chunk when last checked
+     */
+    public synchronized List<LivingEntity> getEntities(World world, int chunkX, int chunkZ) {
+        LongMap<List<Tracked>> worldChunks = chunks.get(world);
+        List<Tracked> group = worldChunks == null ? null : worldChunks.get(Locations.chunkKey(chunkX, chunkZ));
+        if (group == null) return List.of();
+        List<LivingEntity> entities = new ArrayList<>(group.size());
+        for (Tracked tracked : group) entities.add(tracked.entity);
+        return entities;
+    }
+
+    /**
+     * Get amount of custom mobs in the chunk
+     * @param world World of the chunk
+     * @param chunkX X coordinate of the chunk
+     * @param chunkZ Z coordinate of the chunk
+     * @return Amount of entities that were in the chunk when last checked
+     */
+    public synchronized int countInChunk(World world, int chunkX, int chunkZ) {
+        LongMap<List<Tracked>> worldChunks = chunks.get(world);
+        List<Tracked> group = worldChunks == null ? null : worldChunks.get(Locations.chunkKey(chunkX, chunkZ));
+        return group == null ? 0 : group.size();
+    }
+
+    /**
+     * Get amount of custom mobs in the region that contains the chunk
+     * @param world World of the chunk
+     * @param chunkX X coordinate of the chunk
+     * @param chunkZ Z coordinate of the chunk
+     * @return Amount of entities that were in the region when last checked
+     */
+    public synchronized int countInRegion(World world, int chunkX, int chunkZ) {
+        return regions.get(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Get amount of loaded custom mobs of the type
+     * @param type Custom type of mobs
+     * @return Amount of entities in every world
+     */
+    public synchronized int getPopulation(String type) {
+        int[] count = totals.get(type);
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Get amount of loaded custom mobs of the type in the world
+     * @param world World to check
+     * @param type Custom type of mobs
+     * @return Amount of entities in the world
+     */
+    public synchronized int getPopulation(World world, String type) {
+        Map<String, int[]> worldPopulation = population.get(world);
+        int[] count = worldPopulation == null ? null : worldPopulation.get(type);
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Get amount of loaded custom mobs per type in the world
+     * @param world World to check
+     * @return Copy of amounts by custom types
+     */
+    public synchronized Map<String, Integer> getPopulation(World world) {
+        Map<String, int[]> worldPopulation = population.get(world);
+        if (worldPopulation == null) return Map.of();
+        Map<String, Integer> result = new HashMap<>(worldPopulation.size());
+        worldPopulation.forEach((type, count) -> result.put(type, count[0]));
+        return result;
+    }
+
+    /**
+     * Get every loaded custom mob
+     * @return Copy of the registered entities
+     */
+    public synchronized List<LivingEntity> getEntities() {
+        List<LivingEntity> entities = new ArrayList<>(byId.size());
+        byId.forEach((id, tracked) -> entities.add(tracked.entity));
+        return entities;
+    }
+
+    /**
+     * Proceed every entity of ticking mobs that are due, chunk by chunk
+     * Chunks that aren't entity-ticking are skipped. Entities that are no longer valid are removed instead
+     * @param tick Current tick, in {@link me.imdanix.caves.ticks.TickLevel#ENTITY} periods
+     * @param action Action to proceed
+     */
+    public synchronized void forEach(long tick, BiConsumer<CustomMob.Ticking, LivingEntity> action) {
+        for (World world : List.copyOf(chunks.keySet())) {
+            LongMap<List<Tracked>> worldChunks = chunks.get(world);
+            if (worldChunks == null) continue;
+            for (long key : worldChunks.keys()) {
+                int x = Locations.chunkX(key), z = Locations.chunkZ(key);
+                if (!world.isChunkLoaded(x, z) || world.getChunkAt(x, z).getLoadLevel() != Chunk.LoadLevel.ENTITY_TICKING) continue;
+                List<Tracked> group = worldChunks.get(key);
+                if (group == null) continue;
+                // Copied, as the action may add or remove mobs
+                for (Tracked tracked : group.toArray(EMPTY)) {
+                    if (tracked.tick == tick) continue;
+                    tracked.tick = tick;
+                    LivingEntity entity = tracked.entity;
+                    if (!entity.isValid()) {
+                        remove(entity);
+                        continue;
+                    }
+                    Location loc = entity.getLocation(cursor);
+                    long current = Locations.chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+                    if (current != tracked.key || loc.getWorld() != tracked.world) {
+                        unlink(tracked);
+                        link(tracked, loc.getWorld(), current);
+                    }
+                    if (tracked.mob instanceof CustomMob.Ticking mob) {
+                        int interval = mob.getTickInterval();
+                        if (interval > 1 && (tick - mob.getTickOffset()) % interval != 0) continue;
+                        action.accept(mob, entity);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Proceed every chunk that has custom mobs
+     * @param action Action to proceed, shouldn't modify the registry
+     */
+    public synchronized void forEachChunk(ChunkConsumer action) {
+        chunks.forEach((world, worldChunks) -> worldChunks.forEach((key, group) -> {
+            List<LivingEntity> entities = new ArrayList<>(group.size());
+            for (Tracked tracked : group) entities.add(tracked.entity);
+            action.accept(world, Locations.chunkX(key), Locations.chunkZ(key), entities);
+        }));
+    }
+
+    /**
+     * Get amount of registered entities
+     * @return Amount of entities
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private void link(Tracked tracked, World world, long key) {
+        tracked.world = world;
+        tracked.key = key;
+        chunks.computeIfAbsent(world, w -> new LongMap<>()).computeIfAbsent(key, k -> new ArrayList<>(2)).add(tracked);
+        count(tracked, world, 1);
+    }
+
+    private void unlink(Tracked tracked) {
+        LongMap<List<Tracked>> worldChunks = chunks.get(tracked.world);
+        if (worldChunks == null) return;
+        List<Tracked> group = worldChunks.get(tracked.key);
+        if (group == null) return;
+        if (group.remove(tracked)) count(tracked, tracked.world, -1);
+        if (group.isEmpty()) worldChunks.remove(tracked.key);
+    }
+
+    private void count(Tracked tracked, World world, int delta) {
+        if (delta > 0) regions.add(world, tracked.key);
+        else regions.remove(world, tracked.key);
+        Map<String, int[]> worldPopulation = population.computeIfAbsent(world, w -> new HashMap<>());
+        if ((worldPopulation.computeIfAbsent(tracked.type, t -> new int[1])[0] += delta) <= 0) {
+            worldPopulation.remove(tracked.type);
+            if (worldPopulation.isEmpty()) population.remove(world);
+        }
+        if ((totals.computeIfAbsent(tracked.type, t -> new int[1])[0] += delta) <= 0) totals.remove(tracked.type);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(EntityDeathEvent event) {
+        remove(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public synchronized void onChunkUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof LivingEntity) remove(entity);
+        }
+        // Mobs that walked away since the last check are still loaded, so they're moved to their current chunks
+        Chunk chunk = event.getChunk();
+        long key = Locations.chunkKey(chunk.getX(), chunk.getZ());
+        LongMap<List<Tracked>> worldChunks = chunks.get(chunk.getWorld());
+        List<Tracked> group = worldChunks == null ? null : worldChunks.get(key);
+        if (group == null) return;
+        for (Tracked tracked : group.toArray(EMPTY)) {
+            unlink(tracked);
+            LivingEntity entity = tracked.entity;
+            Location loc = entity.getLocation(cursor);
+            long current = Locations.chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+            if (!entity.isValid() || (current == key && loc.getWorld() == chunk.getWorld())) {
+                byId.remove(entity.getEntityId());
+            } else {
+                link(tracked, loc.getWorld(), current);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        void accept(World world, int chunkX, int chunkZ, List<LivingEntity> entities);
+    }
+
+    private static final class Tracked {
+        private final LivingEntity entity;
+        private final CustomMob mob;
+        private final String type;
+        private World world;
+        private long key;
+        private long tick = -1;
+
+        private Tracked(LivingEntity entity, CustomMob mob, String type) {
+            this.entity = entity;
+            this.mob = mob;
+            this.type = type;
+        }
+    }
+}
@@ -2,29 +2,30 @@ package me.imdanix.caves.mobs;
 
 import me.imdanix.caves.configuration.Configurable;
 import me.imdanix.caves.configuration.Configuration;
+import me.imdanix.caves.placeholders.Placeholder;
 import me.imdanix.caves.ticks.Dynamics;
 import me.imdanix.caves.ticks.TickLevel;
 import me.imdanix.caves.ticks.Tickable;
 import me.imdanix.caves.util.Locations;
 import me.imdanix.caves.util.Manager;
-import me.imdanix.caves.util.PlayerAttackedEvent;
 import me.imdanix.caves.util.TagHelper;
 import me.imdanix.caves.util.Utils;
 import me.imdanix.caves.util.random.Rng;
-import me.imdanix.caves.util.random.WeightedPool;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.world.EntitiesLoadEvent;
 import org.bukkit.inventory.EquipmentSlot;
@@ -35,12 +36,9 @@ import org.bukkit.plugin.Plugin;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
@@ -50,7 +48,13 @@ import java.util.regex.Pattern;
 public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Configurable {
     private static final Pattern CUSTOM_TYPE_PATTERN = Pattern.compile("[a-z\\d_-]+");
 
-    private final Map<CustomMob.Ticking, Set<UUID>> tickingEntities = new HashMap<>();
+    private final MobRegistry registry;
+    private final Listener spawns = new Spawns();
+    private final PlayerPositions positions;
+    private final MobLod lod;
+    private final MobCulling culling;
+    private final SpawnQueue queue;
+    private final MobEventRouter router;
     private final MetadataValue MARKER;
 
     private final Plugin plugin;
@@ -60,24 +64,37 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
     private final Map<String, CustomMob> mobs;
     private final Set<String> worlds;
     private boolean disabled;
-    private WeightedPool<CustomMob> mobsPool;
+    private long ticks;
+    private SpawnTables tables;
 
     private Set<EntityType> replaceTypes;
     private int yMin;
     private int yMax;
+    private int bandHeight;
     private double chance;
     private boolean blockRename;
     private boolean metadata;
-    private Predicate<Location> lightCheck;
+    private int maxLight;
+    private int chunkCap;
+    private int regionCap;
 
     public MobsManager(Plugin plugin, Configuration config, Dynamics dynamics) {
         MARKER = new FixedMetadataValue(plugin, new Object());
         this.plugin = plugin;
         this.config = config;
         this.dynamics = dynamics;
+        registry = new MobRegistry();
+        positions = new PlayerPositions();
+        lod = new MobLod(positions);
+        culling = new MobCulling(registry, positions, dynamics.getScheduler());
+        queue = new SpawnQueue(this, dynamics);
+        dynamics.register(queue);
+        dynamics.getTimings().registerEvents(registry, plugin);
+        router = new MobEventRouter(registry, dynamics.getTimings(), plugin);
+        dynamics.getTimings().registerEvents(router, plugin);
         mobs = new HashMap<>();
         worlds = new HashSet<>();
-        mobsPool = new WeightedPool<>();
+        tables = new SpawnTables(List.of(), 0, 0, 1);
     }
 
     @Override
@@ -86,13 +103,8 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
         blockRename = cfg.getBoolean("restrict-rename", false);
         yMin = cfg.getInt("y-min", -64);
         yMax = cfg.getInt("y-max", 64);
-
-        int maxLight = cfg.getInt("max-light-level", 16);
-        if (maxLight < 16) {
-            lightCheck = (l) -> l.getBlock().getLightLevel() <= Math.max(0, maxLight);
-        } else {
-            lightCheck = (l) -> true;
-        }
+        bandHeight = Math.max(cfg.getInt("y-band", 8), 1);
+        maxLight = Math.max(cfg.getInt("max-light-level", 16), 0);
 
         Utils.fillWorlds(cfg.getStringList("worlds"), worlds);
 
@@ -106,19 +118,46 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
         recalculateChances();
 
         metadata = cfg.getBoolean("add-metadata", false);
-        CreatureSpawnEvent.getHandlerList().unregister(this);
-        if (!disabled) {
-            Bukkit.getPluginManager().registerEvents(this, plugin);
+        lod.reload(Configuration.section(cfg, "lod"));
+        culling.reload(Configuration.section(cfg, "culling"));
+        queue.reload(Configuration.section(cfg, "queue"));
+
+        ConfigurationSection caps = Configuration.section(cfg, "caps");
+        chunkCap = caps.getInt("per-chunk", 4);
+        regionCap = caps.getInt("per-region", 24);
+        registry.setRegionSize(caps.getInt("region-size", 4));
+        registerSpawns();
+    }
+
+    /**
+     * Listen to spawns that may be replaced. On Paper the decision is made before the vanilla entity is even created,
+     * otherwise the created entity is cancelled
+     */
+    private void registerSpawns() {
+        HandlerList.unregisterAll(spawns);
+        if (disabled) return;
+        if (PreSpawnEvent.isSupported()) {
+            dynamics.getTimings().registerEvent(PreSpawnEvent.EVENT, spawns, EventPriority.HIGH, (l, event) -> {
+                if (PreSpawnEvent.EVENT.isInstance(event) && onSpawn(
+                        PreSpawnEvent.getType(event), PreSpawnEvent.getLocation(event), PreSpawnEvent.getReason(event)))
+                    ((Cancellable) event).setCancelled(true);
+            }, plugin, true);
+        } else {
+            dynamics.getTimings().registerEvent(CreatureSpawnEvent.class, spawns, EventPriority.HIGH, (l, event) -> {
+                if (event instanceof CreatureSpawnEvent spawn &&
+                        onSpawn(spawn.getEntityType(), spawn.getLocation(), spawn.getSpawnReason()))
+                    spawn.setCancelled(true);
+            }, plugin, true);
         }
     }
 
     /**
      * Recalculate mobs spawn chances
+     * Spawn tables are rebuilt lazily, so mobs may be configured after this call
      */
     private void recalculateChances() {
-        mobsPool = new WeightedPool<>();
-        mobs.values().forEach(m -> mobsPool.add(m, m.getWeight()));
-        if (mobsPool.isEmpty()) {
+        tables = new SpawnTables(List.copyOf(mobs.values()), yMin, yMax, bandHeight);
+        if (tables.isEmpty()) {
             disabled = true;
         }
     }
@@ -132,31 +171,28 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
         if (!CUSTOM_TYPE_PATTERN.matcher(mob.getCustomType()).matches() || mobs.containsKey(mob.getCustomType())) {
             return false;
         }
-        mobsPool.add(mob, mob.getWeight());
         mobs.put(mob.getCustomType(), mob);
+        tables = new SpawnTables(List.copyOf(mobs.values()), yMin, yMax, bandHeight);
         if (mob instanceof Configurable configurable)
             config.register(configurable);
         if (mob instanceof Listener listener)
-            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            dynamics.getTimings().registerEvents(listener, plugin);
         if (mob instanceof Tickable tickable)
             dynamics.register(tickable);
-        if (mob instanceof CustomMob.Ticking ticking)
-            tickingEntities.put(ticking, new HashSet<>());
+        router.watch(mob);
         return true;
     }
 
     @Override
     public void tick() {
-        for (Map.Entry<CustomMob.Ticking, Set<UUID>> entry : tickingEntities.entrySet()) {
-            CustomMob.Ticking mob = entry.getKey();
-            Iterator<UUID> uuids = entry.getValue().iterator();
-            while (uuids.hasNext()) {
-                Entity entity = Bukkit.getEntity(uuids.next());
-                if (entity == null) {
-                    uuids.remove();
-                } else mob.tick((LivingEntity) entity);
-            }
-        }
+        long tick = ticks++;
+        positions.update();
+        registry.forEach(tick, (mob, entity) -> {
+            // Mid range rotation goes by the mob's own ticks, as only every interval-th tick gets here
+            long mobTick = Math.floorDiv(tick - mob.getTickOffset(), Math.max(mob.getTickInterval(), 1));
+            if (lod.shouldTick(entity, mobTick)) dynamics.getScheduler().run(entity, () -> mob.tick(entity));
+        });
+        culling.tick(tick);
     }
 
     @Override
@@ -187,38 +223,35 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
      * @return Is summoning was successful
      */
     public LivingEntity spawn(CustomMob mob, Location loc) {
-        LivingEntity entity = mob.spawn(loc);
-        TagHelper.setTag(entity, mob.getCustomType());
+        LivingEntity entity = mob.spawn(loc, created -> {
+            TagHelper.setTag(created, mob.getCustomType());
+            created.setRemoveWhenFarAway(true);
+        });
         if (metadata) entity.setMetadata("DangerousCaves", MARKER);
-        if (mob instanceof CustomMob.Ticking ticking) {
-            handleTicking(entity, ticking);
-        }
-        entity.setRemoveWhenFarAway(true);
+        registry.add(entity, mob);
         return entity;
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onChunkLoad(EntitiesLoadEvent event) {
-        for (Entity entity : event.getEntities()) {
-            if (!(entity instanceof LivingEntity livingEntity)) continue;
-            String type = TagHelper.getTag(livingEntity);
-            if (type != null) {
-                if (metadata) entity.setMetadata("DangerousCaves", MARKER);
-                CustomMob mob = mobs.get(type);
-                if (mob instanceof CustomMob.Ticking ticking) {
-                    handleTicking(livingEntity, ticking);
-                }
-            }
+        event.getEntities().forEach(this::handleLoaded);
+    }
+
+    /**
+     * Register custom mobs that were loaded before the plugin was enabled
+     */
+    public void scanLoaded() {
+        for (World world : Bukkit.getWorlds()) {
+            world.getLivingEntities().forEach(this::handleLoaded);
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onEntityAttack(EntityDamageByEntityEvent event) {
-        if (event.getEntityType() == EntityType.PLAYER && event.getDamager() instanceof LivingEntity) {
-            PlayerAttackedEvent pEvent = new PlayerAttackedEvent((Player) event.getEntity(), (LivingEntity) event.getDamager(), event.getDamage());
-            Bukkit.getPluginManager().callEvent(pEvent);
-            event.setDamage(pEvent.getDamage());
-            event.setCancelled(pEvent.isCancelled());
+    private void handleLoaded(Entity entity) {
+        if (!(entity instanceof LivingEntity livingEntity)) return;
+        String type = TagHelper.getTag(livingEntity);
+        if (type != null) {
+            if (metadata) entity.setMetadata("DangerousCaves", MARKER);
+            registry.add(livingEntity, mobs.get(type));
         }
     }
 
@@ -234,28 +267,34 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onSpawn(CreatureSpawnEvent event) {
-        if (onSpawn(event.getEntityType(), event.getLocation(), event.getSpawnReason()))
-            event.setCancelled(true);
-    }
-
     private boolean onSpawn(EntityType type, Location loc, CreatureSpawnEvent.SpawnReason reason) {
         if (disabled || reason != CreatureSpawnEvent.SpawnReason.NATURAL ||
                 !replaceTypes.contains(type) ||
-                !lightCheck.test(loc) ||
                 loc.getBlockY() > yMax ||
                 loc.getBlockY() < yMin ||
                 !worlds.contains(loc.getWorld().getName()) ||
-                !Locations.isCave(loc) ||
-                !Rng.chance(chance))
+                !Rng.chance(chance) ||
+                isCrowded(loc))
             return false;
-        CustomMob mob = mobsPool.next();
-        if (mob.canSpawn(loc)) {
-            spawn(mob, loc);
-            return true;
-        }
-        return false;
+        int light = loc.getBlock().getLightLevel();
+        if (light > maxLight || !Locations.isCave(loc))
+            return false;
+        CustomMob mob = tables.get(loc.getWorld(), loc.getBlockY(), light).next();
+        if (mob == null || !mob.canSpawn(loc)) return false;
+        if (queue.isEnabled()) return queue.offer(mob, loc, Math.min(mob.getMaxSpawnLight(), maxLight));
+        spawn(mob, loc);
+        return true;
+    }
+
+    /**
+     * Check if there are already too many custom mobs around
+     * @param loc Location to check
+     * @return Is chunk or region cap reached
+     */
+    boolean isCrowded(Location loc) {
+        int chunkX = loc.getBlockX() >> 4, chunkZ = loc.getBlockZ() >> 4;
+        return (chunkCap > 0 && registry.countInChunk(loc.getWorld(), chunkX, chunkZ) >= chunkCap) ||
+                (regionCap > 0 && registry.countInRegion(loc.getWorld(), chunkX, chunkZ) >= regionCap);
     }
 
     public boolean checkWorld(String world) {
@@ -268,12 +307,28 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
     }
 
     /**
-     * Handle a new ticking mob
-     * @param entity Entity to handle
-     * @param mob Related custom mob
+     * Get placeholder of loaded custom mobs amount, "mobs" for all of them and "mobs_type" for the type
      */
-    public void handleTicking(LivingEntity entity, CustomMob.Ticking mob) {
-        tickingEntities.get(mob).add(entity.getUniqueId());
+    public Placeholder getPlaceholder() {
+        return new Placeholder.Parameterized() {
+            @Override
+            public String getName() {
+                return "mobs";
+            }
+
+            @Override
+            public String getValue(Player player, String parameter) {
+                return Integer.toString(parameter.isEmpty() ? registry.size() : registry.getPopulation(parameter));
+            }
+        };
+    }
+
+    public MobRegistry getRegistry() {
+        return registry;
+    }
+
+    public SpawnQueue getSpawnQueue() {
+        return queue;
     }
 
     public Plugin getPlugin() {
@@ -283,4 +338,9 @@ public class MobsManager implements Manager<CustomMob>, Listener, Tickable, Conf
     public Set<String> getMobs() {
         return mobs.keySet();
     }
+
+    /**
+     * Handle of spawn executors, registered and unregistered on reload
+     */
+    private static final class Spawns implements Listener {}
 }
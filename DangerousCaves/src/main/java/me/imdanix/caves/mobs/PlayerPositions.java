@@ -0,0 +1,80 @@
+package me.imdanix.caves.mobs;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions of players per world, remembered once per tick, so distances to mobs are checked without looking players up
+ */
+public class PlayerPositions {
+    private final Map<World, double[]> positions;
+    private final Location cursor;
+
+    public PlayerPositions() {
+        positions = new HashMap<>();
+        cursor = new Location(null, 0, 0, 0);
+    }
+
+    /**
+     * Remember current players positions. Should be called before checking distances
+     */
+    public void update() {
+        positions.clear();
+        for (World world : Bukkit.getWorlds()) {
+            List<Player> players = world.getPlayers();
+            if (players.isEmpty()) continue;
+            double[] coords = new double[players.size() * 3];
+            int i = 0;
+            for (Player player : players) {
+                Location loc = player.getLocation(cursor);
+                coords[i++] = loc.getX();
+                coords[i++] = loc.getY();
+                coords[i++] = loc.getZ();
+            }
+            positions.put(world, coords);
+        }
+    }
+
+    /**
+     * Get squared distance to the nearest player
+     * @param world World to check
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @return Squared distance or {@link Double#POSITIVE_INFINITY} if there are no players in the world
+     */
+    public double distanceSquared(World world, double x, double y, double z) {
+        double[] coords = positions.get(world);
+        if (coords == null) return Double.POSITIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < coords.length; i += 3) {
+            double dx = coords[i] - x, dy = coords[i + 1] - y, dz = coords[i + 2] - z;
+            min = Math.min(min, dx * dx + dy * dy + dz * dz);
+        }
+        return min;
+    }
+
+    /**
+     * Get squared horizontal distance to the nearest player
+     * @param world World to check
+     * @param x X coordinate
+     * @param z Z coordinate
+     * @return Squared distance or {@link Double#POSITIVE_INFINITY} if there are no players in the world
+     */
+    public double distanceSquared(World world, double x, double z) {
+        double[] coords = positions.get(world);
+        if (coords == null) return Double.POSITIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < coords.length; i += 3) {
+            double dx = coords[i] - x, dz = coords[i + 2] - z;
+            min = Math.min(min, dx * dx + dz * dz);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,62 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.util.Locations;
+import me.imdanix.caves.util.LongMap;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Amount of entities per world and square region of chunks, updated incrementally
+ * Not thread-safe, guarded by {@link MobRegistry}
+ */
+final class PopulationGrid {
+    private final Map<World, LongMap<int[]>> cells;
+    private final int size;
+
+    /**
+     * @param size Size of a region side in chunks
+     */
+    PopulationGrid(int size) {
+        this.cells = new HashMap<>();
+        this.size = Math.max(size, 1);
+    }
+
+    void add(World world, long chunkKey) {
+        cells.computeIfAbsent(world, w -> new LongMap<>()).computeIfAbsent(cell(chunkKey), k -> new int[1])[0]++;
+    }
+
+    void remove(World world, long chunkKey) {
+        LongMap<int[]> worldCells = cells.get(world);
+        if (worldCells == null) return;
+        long cell = cell(chunkKey);
+        int[] count = worldCells.get(cell);
+        if (count != null && --count[0] <= 0) {
+            worldCells.remove(cell);
+            if (worldCells.isEmpty()) cells.remove(world);
+        }
+    }
+
+    /**
+     * Get amount of entities in the region that contains the chunk
+     * @param world World of the chunk
+     * @param chunkX X coordinate of the chunk
+     * @param chunkZ Z coordinate of the chunk
+     * @return Amount of entities
+     */
+    int get(World world, int chunkX, int chunkZ) {
+        LongMap<int[]> worldCells = cells.get(world);
+        if (worldCells == null) return 0;
+        int[] count = worldCells.get(Locations.chunkKey(Math.floorDiv(chunkX, size), Math.floorDiv(chunkZ, size)));
+        return count == null ? 0 : count[0];
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    private long cell(long chunkKey) {
+        return Locations.chunkKey(Math.floorDiv(Locations.chunkX(chunkKey), size), Math.floorDiv(Locations.chunkZ(chunkKey), size));
+    }
+}
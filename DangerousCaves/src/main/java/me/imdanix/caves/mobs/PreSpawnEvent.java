@@ -0,0 +1,67 @@
+package me.imdanix.caves.mobs;
+
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.Event;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Access to Paper's PreCreatureSpawnEvent, which is called before the entity is created
+ * Accessed reflectively, as the plugin is built against Spigot
+ */
+final class PreSpawnEvent {
+    static final Class<? extends Event> EVENT;
+    private static final MethodHandle LOCATION;
+    private static final MethodHandle TYPE;
+    private static final MethodHandle REASON;
+
+    static {
+        Class<? extends Event> event = null;
+        MethodHandle location = null, type = null, reason = null;
+        try {
+            event = Class.forName("com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent").asSubclass(Event.class);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            location = lookup.findVirtual(event, "getSpawnLocation", MethodType.methodType(Location.class));
+            type = lookup.findVirtual(event, "getType", MethodType.methodType(EntityType.class));
+            reason = lookup.findVirtual(event, "getReason", MethodType.methodType(CreatureSpawnEvent.SpawnReason.class));
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            event = null;
+        }
+        EVENT = event;
+        LOCATION = location;
+        TYPE = type;
+        REASON = reason;
+    }
+
+    private PreSpawnEvent() {}
+
+    static boolean isSupported() {
+        return EVENT != null;
+    }
+
+    static Location getLocation(Event event) {
+        return (Location) invoke(LOCATION, event);
+    }
+
+    static EntityType getType(Event event) {
+        return (EntityType) invoke(TYPE, event);
+    }
+
+    static CreatureSpawnEvent.SpawnReason getReason(Event event) {
+        return (CreatureSpawnEvent.SpawnReason) invoke(REASON, event);
+    }
+
+    private static Object invoke(MethodHandle handle, Event event) {
+        try {
+            return handle.invoke(event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
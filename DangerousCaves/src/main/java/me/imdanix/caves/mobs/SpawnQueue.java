@@ -0,0 +1,141 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.ticks.Dynamics;
+import me.imdanix.caves.ticks.TickLevel;
+import me.imdanix.caves.ticks.Tickable;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replacements of vanilla spawns that were accepted, but not spawned yet
+ * Spawn events only record the intent, and the queue spawns up to a limited amount of mobs per server tick
+ * Entries are dropped if they're too old, their chunk was unloaded, light became too bright for the mob
+ * or mobs that were spawned meanwhile reached the population caps
+ */
+public class SpawnQueue implements Tickable.Resumable {
+    private final MobsManager manager;
+    private final Dynamics dynamics;
+    private final Scheduler scheduler;
+    private final Deque<Entry> entries;
+    private final AtomicLong spawned;
+    private final AtomicLong droppedFull;
+    private final AtomicLong droppedStale;
+
+    private boolean enabled;
+    private int capacity;
+    private int perTick;
+    private long maxAge;
+
+    SpawnQueue(MobsManager manager, Dynamics dynamics) {
+        this.manager = manager;
+        this.dynamics = dynamics;
+        this.scheduler = dynamics.getScheduler();
+        entries = new ArrayDeque<>();
+        spawned = new AtomicLong();
+        droppedFull = new AtomicLong();
+        droppedStale = new AtomicLong();
+    }
+
+    public void reload(ConfigurationSection cfg) {
+        enabled = cfg.getBoolean("enabled", true);
+        capacity = Math.max(cfg.getInt("size", 256), 1);
+        perTick = Math.max(cfg.getInt("per-tick", 4), 1);
+        maxAge = Math.max(cfg.getInt("max-age", 40), 1);
+        if (!enabled) clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue spawning of the mob. Idle queue is resumed right away, so it doesn't wait for its own tick
+     * @param mob Mob to spawn
+     * @param loc Where to spawn
+     * @param maxLight Maximal light level at which spawning is still valid
+     * @return Is mob queued, false if the queue is full
+     */
+    boolean offer(CustomMob mob, Location loc, int maxLight) {
+        boolean idle;
+        synchronized (entries) {
+            if (entries.size() >= capacity) {
+                droppedFull.incrementAndGet();
+                return false;
+            }
+            idle = entries.isEmpty();
+            entries.addLast(new Entry(mob, loc.clone(), maxLight, dynamics.getCurrentTick()));
+        }
+        if (idle) dynamics.resume(this);
+        return true;
+    }
+
+    @Override
+    public void tick() {
+        // Queue is continuous, it's resumed by offer() as soon as it gets entries
+    }
+
+    @Override
+    public boolean proceed(long deadline) {
+        long now = dynamics.getCurrentTick();
+        for (int i = 0; i < perTick; i++) {
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.pollFirst();
+            }
+            if (entry == null) return false;
+            if (now - entry.time() > maxAge) {
+                droppedStale.incrementAndGet();
+                continue;
+            }
+            Location loc = entry.loc();
+            scheduler.run(loc, () -> {
+                if (!loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4) ||
+                        loc.getBlock().getLightLevel() > entry.maxLight() ||
+                        manager.isCrowded(loc)) {
+                    droppedStale.incrementAndGet();
+                    return;
+                }
+                manager.spawn(entry.mob(), loc);
+                spawned.incrementAndGet();
+            });
+            if (System.nanoTime() >= deadline) break;
+        }
+        return getDepth() > 0;
+    }
+
+    @Override
+    public TickLevel getTickLevel() {
+        return TickLevel.ENTITY;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int getDepth() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getSpawned() {
+        return spawned.get();
+    }
+
+    public long getDroppedFull() {
+        return droppedFull.get();
+    }
+
+    public long getDroppedStale() {
+        return droppedStale.get();
+    }
+
+    record Entry(CustomMob mob, Location loc, int maxLight, long time) {}
+}
@@ -0,0 +1,85 @@
+package me.imdanix.caves.mobs;
+
+import me.imdanix.caves.util.random.WeightedPool;
+import org.bukkit.World;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pools of custom mobs that are eligible to spawn in some context - world, y-band and light level
+ * Tables of a world are built on the first spawn attempt in it, so picking a mob is a lookup and a single sample
+ */
+final class SpawnTables {
+    private static final int LIGHT_LEVELS = 16;
+
+    private final List<CustomMob> mobs;
+    private final int yMin;
+    private final int bandHeight;
+    private final int bands;
+    private final Map<String, WeightedPool<CustomMob>[]> worlds;
+
+    /**
+     * @param mobs Mobs to pick from
+     * @param yMin Minimal Y coordinate of spawning
+     * @param yMax Maximal Y coordinate of spawning
+     * @param bandHeight Height of every y-band
+     */
+    SpawnTables(List<CustomMob> mobs, int yMin, int yMax, int bandHeight) {
+        this.mobs = mobs;
+        this.yMin = yMin;
+        this.bandHeight = Math.max(bandHeight, 1);
+        this.bands = Math.max(yMax - yMin, 0) / this.bandHeight + 1;
+        this.worlds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get pool of mobs that can spawn at the context
+     * @param world World of spawning
+     * @param y Y coordinate of spawning, between minimal and maximal Y
+     * @param light Light level at spawning location
+     * @return Pool of eligible mobs, may be empty
+     */
+    WeightedPool<CustomMob> get(World world, int y, int light) {
+        int band = Math.min(Math.max((y - yMin) / bandHeight, 0), bands - 1);
+        return worlds.computeIfAbsent(world.getName(), this::build)[band * LIGHT_LEVELS + Math.min(Math.max(light, 0), 15)];
+    }
+
+    /**
+     * Check if no mob can be picked at any Y coordinate, whatever the world and light level are
+     * @return Are all the tables empty
+     */
+    boolean isEmpty() {
+        for (int band = 0; band < bands; band++) {
+            int y = middle(band);
+            for (CustomMob mob : mobs) {
+                if (mob.getWeight(y) > 0) return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private WeightedPool<CustomMob>[] build(String world) {
+        WeightedPool<CustomMob>[] tables = new WeightedPool[bands * LIGHT_LEVELS];
+        for (int band = 0; band < bands; band++) {
+            int y = middle(band);
+            for (int light = 0; light < LIGHT_LEVELS; light++) {
+                WeightedPool<CustomMob> pool = new WeightedPool<>();
+                for (CustomMob mob : mobs) {
+                    if (light <= mob.getMaxSpawnLight() && mob.canSpawn(world)) pool.add(mob, mob.getWeight(y));
+                }
+                tables[band * LIGHT_LEVELS + light] = pool;
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Weight of the band is taken at its middle
+     */
+    private int middle(int band) {
+        return yMin + band * bandHeight + bandHeight / 2;
+    }
+}
@@ -1,5 +1,6 @@
 package me.imdanix.caves.mobs.defaults;
 
+import me.imdanix.caves.mobs.CustomMob;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.Regions;
@@ -8,17 +9,14 @@ import me.imdanix.caves.util.random.Rng;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-public class AlphaSpider extends MobBase implements Listener {
+public class AlphaSpider extends MobBase implements CustomMob.Damaged, CustomMob.Attacking {
     private static final PotionEffect POISON = new PotionEffect(PotionEffectType.POISON, 75, 1);
     private static final PotionEffect REGENERATION = new PotionEffect(PotionEffectType.REGENERATION, Integer.MAX_VALUE, 0, false, true);
 
@@ -40,17 +38,15 @@ public class AlphaSpider extends MobBase implements Listener {
         entity.addPotionEffect(REGENERATION);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onDamage(EntityDamageEvent event) {
-        if (!isThis(event.getEntity())) return;
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        if (event.isCancelled()) return;
         if (event.getCause() == EntityDamageEvent.DamageCause.SUFFOCATION) event.setCancelled(true);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onAttack(EntityDamageByEntityEvent event) {
-        if (!isThis(event.getDamager())) return;
-        LivingEntity entity = (LivingEntity) event.getEntity();
-        Entity damager = event.getDamager();
+    @Override
+    public void onAttack(LivingEntity damager, EntityDamageByEntityEvent event) {
+        if (event.isCancelled() || !(event.getEntity() instanceof LivingEntity entity)) return;
         if (Rng.nextBoolean()) {
             if (minionChance > 0 && Rng.chance(minionChance))
                 damager.getWorld().spawnEntity(damager.getLocation(), EntityType.CAVE_SPIDER);
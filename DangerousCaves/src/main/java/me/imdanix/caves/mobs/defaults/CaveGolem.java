@@ -1,5 +1,7 @@
 package me.imdanix.caves.mobs.defaults;
 
+import me.imdanix.caves.mobs.CustomMob;
+import me.imdanix.caves.mobs.EquipmentTemplate;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.mobs.MobsManager;
 import me.imdanix.caves.regions.ActionType;
@@ -12,7 +14,6 @@ import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -23,7 +24,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
@@ -34,7 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-public class CaveGolem extends MobBase implements Listener {
+public class CaveGolem extends MobBase implements CustomMob.Damaged, CustomMob.Attacking {
     private static final PotionEffect SLOW = new PotionEffect(PotionEffectType.SLOWNESS, Integer.MAX_VALUE, 0);
     private static final PotionEffect BLINDNESS = new PotionEffect(PotionEffectType.BLINDNESS, 30, 0);
     private static final PotionEffect CONFUSION = new PotionEffect(PotionEffectType.NAUSEA, 20, 0);
@@ -52,7 +52,6 @@ public class CaveGolem extends MobBase implements Listener {
     private final Plugin plugin;
     private final MobsManager mobs;
 
-    private final List<ItemStack> heads;
     private Set<Material> materials;
 
     private boolean slow;
@@ -68,7 +67,6 @@ public class CaveGolem extends MobBase implements Listener {
         super(EntityType.SKELETON, "cave-golem", 3, 35d);
         this.plugin = mobs.getPlugin();
         this.mobs = mobs;
-        this.heads = new ArrayList<>();
     }
 
     @Override
@@ -80,10 +78,16 @@ public class CaveGolem extends MobBase implements Listener {
         mobModifier = cfg.getDouble("damage-modifier", 2.0);
 
         materials = Materials.getSet(cfg.getStringList("variants"));
-        heads.clear();
+        List<ItemStack> heads = new ArrayList<>();
         materials.forEach(m -> heads.add(new ItemStack(m)));
 
         if (heads.isEmpty()) heads.add(new ItemStack(Material.STONE));
+        setEquipment(new EquipmentTemplate()
+                .clear(EquipmentSlot.HAND)
+                .add(EquipmentSlot.HEAD, heads).drop(1)
+                .add(EquipmentSlot.CHEST, CHESTPLATE).drop(0)
+                .add(EquipmentSlot.LEGS, LEGGINGS).drop(0)
+                .add(EquipmentSlot.FEET, BOOTS).drop(0));
 
         if (!materials.isEmpty() && (breakChance = cfg.getDouble("spawn-from-block") / 100) > 0) {
             if (breakListener == null) {
@@ -110,48 +114,38 @@ public class CaveGolem extends MobBase implements Listener {
 
     @Override
     public void prepare(LivingEntity entity) {
-        EntityEquipment equipment = entity.getEquipment();
-        equipment.setItemInMainHand(null);
-        equipment.setHelmet(Rng.randomElement(heads));  equipment.setHelmetDropChance(1);
-        equipment.setChestplate(CHESTPLATE);            equipment.setChestplateDropChance(0);
-        equipment.setLeggings(LEGGINGS);                equipment.setLeggingsDropChance(0);
-        equipment.setBoots(BOOTS);                      equipment.setBootsDropChance(0);
         entity.setSilent(true);
         if (slow) entity.addPotionEffect(SLOW);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onAttack(EntityDamageByEntityEvent event) {
-        if (isThis(event.getDamager())) {
-            if (!(event.getEntity() instanceof LivingEntity entity)) return;
-            Locations.playSound(entity.getLocation(), Sound.ENTITY_PLAYER_ATTACK_CRIT, SoundCategory.PLAYERS, 2, 0.5f);
-            if (distract) {
-                entity.addPotionEffect(BLINDNESS);
-                entity.addPotionEffect(SLOW_PL);
-                entity.addPotionEffect(CONFUSION);
-            }
-            event.setDamage(event.getDamage() * mobModifier);
+    @Override
+    public void onAttack(LivingEntity golem, EntityDamageByEntityEvent event) {
+        if (event.isCancelled() || !(event.getEntity() instanceof LivingEntity entity)) return;
+        Locations.playSound(entity.getLocation(), Sound.ENTITY_PLAYER_ATTACK_CRIT, SoundCategory.PLAYERS, 2, 0.5f);
+        if (distract) {
+            entity.addPotionEffect(BLINDNESS);
+            entity.addPotionEffect(SLOW_PL);
+            entity.addPotionEffect(CONFUSION);
         }
+        event.setDamage(event.getDamage() * mobModifier);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onDamage(EntityDamageEvent event) {
-        Entity entity = event.getEntity();
-        if (isThis(entity)) {
-            if (event instanceof EntityDamageByEntityEvent enEvent) {
-                if (enEvent.getDamager() instanceof Player player) {
-                    if (PICKAXES.contains(player.getInventory().getItemInMainHand().getType())) {
-                        Locations.playSound(entity.getLocation(), Sound.ITEM_SHIELD_BLOCK, SoundCategory.HOSTILE, 0.6f, 1);
-                        event.setDamage(event.getDamage() * pickaxeModifier);
-                        return;
-                    } else {
-                        Locations.playSound(entity.getLocation(), Sound.ITEM_SHIELD_BREAK, SoundCategory.HOSTILE, 1, 1);
-                    }
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        if (event.isCancelled()) return;
+        if (event instanceof EntityDamageByEntityEvent enEvent) {
+            if (enEvent.getDamager() instanceof Player player) {
+                if (PICKAXES.contains(player.getInventory().getItemInMainHand().getType())) {
+                    Locations.playSound(entity.getLocation(), Sound.ITEM_SHIELD_BLOCK, SoundCategory.HOSTILE, 0.6f, 1);
+                    event.setDamage(event.getDamage() * pickaxeModifier);
+                    return;
+                } else {
+                    Locations.playSound(entity.getLocation(), Sound.ITEM_SHIELD_BREAK, SoundCategory.HOSTILE, 1, 1);
                 }
-            } else {
-                Locations.playSound(entity.getLocation(), Sound.BLOCK_STONE_BREAK, SoundCategory.HOSTILE, 2, 0.6f);
             }
-            event.setDamage(event.getDamage() * nonPickaxeModifier);
+        } else {
+            Locations.playSound(entity.getLocation(), Sound.BLOCK_STONE_BREAK, SoundCategory.HOSTILE, 2, 0.6f);
         }
+        event.setDamage(event.getDamage() * nonPickaxeModifier);
     }
 }
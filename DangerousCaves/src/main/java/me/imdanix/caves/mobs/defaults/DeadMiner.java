@@ -1,6 +1,7 @@
 package me.imdanix.caves.mobs.defaults;
 
 import me.imdanix.caves.mobs.CustomMob;
+import me.imdanix.caves.mobs.EquipmentTemplate;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.Regions;
@@ -15,11 +16,10 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
@@ -28,12 +28,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class DeadMiner extends MobBase implements CustomMob.Ticking, Listener {
+public class DeadMiner extends MobBase implements CustomMob.Ticking, CustomMob.Damaged {
+    private static final ItemStack[] PICKAXES = {new ItemStack(Material.IRON_PICKAXE), new ItemStack(Material.STONE_PICKAXE)};
+    private static final ItemStack[] CHESTPLATES = {new ItemStack(Material.CHAINMAIL_CHESTPLATE), new ItemStack(Material.LEATHER_CHESTPLATE)};
+    private static final ItemStack[] BOOTS = {new ItemStack(Material.CHAINMAIL_BOOTS), new ItemStack(Material.LEATHER_BOOTS)};
+
     private boolean requiresTarget;
     private boolean torches;
     private boolean redTorches;
     private double dropChance;
-    private ItemStack head;
     private List<Material> items;
     private PotionEffect cooldownEffect;
 
@@ -48,10 +51,18 @@ public class DeadMiner extends MobBase implements CustomMob.Ticking, Listener {
         torches = cfg.getBoolean("place-torches", true);
         redTorches = cfg.getBoolean("redstone-torches", false);
         dropChance = cfg.getDouble("drop-chance", 16.67) / 100;
-        head = Materials.getHeadFromURL(cfg.getString("head-url", "31937bcd5beaaa34244913f277505e29d2e6fb35f2e23ca4afa2b6768e398d73"));
+        ItemStack head = Materials.getHeadFromURL(cfg.getString("head-url", "31937bcd5beaaa34244913f277505e29d2e6fb35f2e23ca4afa2b6768e398d73"));
 
         items = new ArrayList<>(Materials.getSet(cfg.getStringList("drop-items")));
 
+        EquipmentTemplate equipment = new EquipmentTemplate()
+                .add(EquipmentSlot.HEAD, head).drop(0)
+                .add(EquipmentSlot.HAND, PICKAXES)
+                .add(EquipmentSlot.CHEST, 0.5, CHESTPLATES)
+                .add(EquipmentSlot.FEET, 0.5, BOOTS);
+        if (torches) equipment.add(EquipmentSlot.OFF_HAND, new ItemStack(redTorches ? Material.REDSTONE_TORCH : Material.TORCH));
+        setEquipment(equipment);
+
         int cooldown = cfg.getInt("torches-cooldown", 12);
         if (cooldown <= 0) {
             cooldownEffect = null;
@@ -60,10 +71,9 @@ public class DeadMiner extends MobBase implements CustomMob.Ticking, Listener {
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onAttack(EntityDamageByEntityEvent event) {
-        if (!isThis(event.getEntity()) || event.getDamage() < 1) return;
-        LivingEntity entity = (LivingEntity) event.getEntity();
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        if (event.isCancelled() || !(event instanceof EntityDamageByEntityEvent) || event.getDamage() < 1) return;
         if (dropChance > 0 && !items.isEmpty() && Rng.chance(dropChance))
             entity.getWorld().dropItemNaturally(
                     entity.getLocation(),
@@ -71,18 +81,13 @@ public class DeadMiner extends MobBase implements CustomMob.Ticking, Listener {
             );
     }
 
+    @Override
+    public EventPriority getDamagedPriority() {
+        return EventPriority.HIGHEST;
+    }
+
     @Override
     public void prepare(LivingEntity entity) {
-        EntityEquipment equipment = entity.getEquipment();
-        equipment.setHelmet(head); equipment.setHelmetDropChance(0);
-        equipment.setItemInMainHand(new ItemStack(Rng.nextBoolean() ? Material.IRON_PICKAXE : Material.STONE_PICKAXE));
-        if (Rng.nextBoolean()) {
-            equipment.setChestplate(new ItemStack(Rng.nextBoolean() ? Material.CHAINMAIL_CHESTPLATE : Material.LEATHER_CHESTPLATE));
-        }
-        if (Rng.nextBoolean()) {
-            equipment.setBoots(new ItemStack(Rng.nextBoolean() ? Material.CHAINMAIL_BOOTS : Material.LEATHER_BOOTS));
-        }
-        if (torches) equipment.setItemInOffHand(new ItemStack(redTorches ? Material.REDSTONE_TORCH : Material.TORCH));
         entity.setCanPickupItems(false);
     }
 
@@ -1,17 +1,18 @@
 package me.imdanix.caves.mobs.defaults;
 
+import me.imdanix.caves.mobs.CustomMob;
+import me.imdanix.caves.mobs.EquipmentTemplate;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.util.Materials;
-import me.imdanix.caves.util.PlayerAttackedEvent;
 import me.imdanix.caves.util.random.Rng;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
@@ -19,9 +20,10 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
+import java.util.ArrayList;
 import java.util.List;
 
-public class HexedArmor extends MobBase implements Listener {
+public class HexedArmor extends MobBase implements CustomMob.PlayerAttacking {
     private static final PotionEffect INVISIBILITY = new PotionEffect(PotionEffectType.INVISIBILITY, Integer.MAX_VALUE, 1, false, false);
 
     private double chance;
@@ -35,6 +37,11 @@ public class HexedArmor extends MobBase implements Listener {
     protected void configure(ConfigurationSection cfg) {
         binding = cfg.getBoolean("binding-curse", true);
         chance = cfg.getDouble("apply-chance", 25) / 100;
+        setEquipment(new EquipmentTemplate()
+                .add(EquipmentSlot.HEAD, enchanted(Materials.HELMETS))
+                .add(EquipmentSlot.CHEST, enchanted(Materials.CHESTPLATES))
+                .add(EquipmentSlot.LEGS, enchanted(Materials.LEGGINGS))
+                .add(EquipmentSlot.FEET, enchanted(Materials.BOOTS)));
     }
 
     @Override
@@ -42,19 +49,12 @@ public class HexedArmor extends MobBase implements Listener {
         entity.addPotionEffect(INVISIBILITY);
         entity.setSilent(true);
         entity.setCanPickupItems(false);
-
-        EntityEquipment equipment = entity.getEquipment();
-        equipment.setHelmet(getRandom(Materials.HELMETS));
-        equipment.setChestplate(getRandom(Materials.CHESTPLATES));
-        equipment.setLeggings(getRandom(Materials.LEGGINGS));
-        equipment.setBoots(getRandom(Materials.BOOTS));
     }
 
-    @EventHandler
-    public void onAttack(PlayerAttackedEvent event) {
-        LivingEntity entity = event.getAttacker();
-        if (isThis(entity) && Rng.chance(chance)) {
-            PlayerInventory inv = event.getPlayer().getInventory();
+    @Override
+    public void onAttack(LivingEntity entity, Player player, EntityDamageByEntityEvent event) {
+        if (Rng.chance(chance)) {
+            PlayerInventory inv = player.getInventory();
             ItemStack[] armor = inv.getArmorContents();
             for (ItemStack item : armor) {
                 if (item != null && item.getType() != Material.AIR) {
@@ -67,9 +67,12 @@ public class HexedArmor extends MobBase implements Listener {
         }
     }
 
-    private ItemStack getRandom(List<Material> armor) {
-        int i = Rng.nextInt(armor.size());
-        return i >= armor.size() ? null : enchant(new ItemStack(armor.get(i)));
+    private List<ItemStack> enchanted(List<Material> armor) {
+        List<ItemStack> items = new ArrayList<>(armor.size());
+        for (Material material : armor) {
+            items.add(enchant(new ItemStack(material)));
+        }
+        return items;
     }
 
     private ItemStack enchant(ItemStack item) {
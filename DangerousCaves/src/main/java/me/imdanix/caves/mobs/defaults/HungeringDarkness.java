@@ -1,22 +1,20 @@
 package me.imdanix.caves.mobs.defaults;
 
+import me.imdanix.caves.mobs.CustomMob;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.util.Locations;
-import me.imdanix.caves.util.PlayerAttackedEvent;
-import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityTargetEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-public class HungeringDarkness extends MobBase implements Listener {
+public class HungeringDarkness extends MobBase implements CustomMob.Targeting, CustomMob.PlayerAttacking {
     private static final PotionEffect INVISIBILITY = new PotionEffect(PotionEffectType.INVISIBILITY, Integer.MAX_VALUE, 0, false, false);
     private static final PotionEffect SLOW = new PotionEffect(PotionEffectType.SLOWNESS, Integer.MAX_VALUE, 3, false, false);
 
@@ -38,8 +36,8 @@ public class HungeringDarkness extends MobBase implements Listener {
     }
 
     @Override
-    public boolean canSpawn(Location location) {
-        return location.getBlock().getLightLevel() == 0;
+    public int getMaxSpawnLight() {
+        return 0;
     }
 
     @Override
@@ -52,30 +50,28 @@ public class HungeringDarkness extends MobBase implements Listener {
         entity.addPotionEffect(SLOW);
     }
 
-    @EventHandler
-    public void onTarget(EntityTargetEvent event) {
+    @Override
+    public void onTarget(LivingEntity entity, EntityTargetEvent event) {
         Entity target = event.getTarget();
-        if (!isThis(event.getEntity()) || target == null) return;
+        if (target == null) return;
         if (target.getLocation().getBlock().getLightLevel() > 0 && (
                 !vision ||
                 !(target instanceof LivingEntity) ||
                 ((LivingEntity)target).hasPotionEffect(PotionEffectType.NIGHT_VISION)
             )) {
             event.setCancelled(true);
-            die(event.getEntity());
+            die(entity);
         }
     }
 
-    @EventHandler
-    public void onAttack(PlayerAttackedEvent event) {
-        if (!isThis(event.getAttacker())) return;
-        Player player = event.getPlayer();
+    @Override
+    public void onAttack(LivingEntity entity, Player player, EntityDamageByEntityEvent event) {
         if (player.getLocation().getBlock().getLightLevel() > 0 && (
                 !vision ||
                 player.hasPotionEffect(PotionEffectType.NIGHT_VISION)
             )) {
             event.setCancelled(true);
-            die(event.getAttacker());
+            die(entity);
         } else event.setDamage(damage);
     }
 
@@ -14,15 +14,13 @@ import org.bukkit.block.BlockFace;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-public class LavaCreeper extends MobBase implements CustomMob.Ticking, Listener {
+public class LavaCreeper extends MobBase implements CustomMob.Ticking, CustomMob.Damaged, CustomMob.Exploding {
     private static final PotionEffect FIRE_RESISTANCE = new PotionEffect(PotionEffectType.FIRE_RESISTANCE, Integer.MAX_VALUE, 0, false, false);
 
     private double chance;
@@ -56,16 +54,16 @@ public class LavaCreeper extends MobBase implements CustomMob.Ticking, Listener
         entity.addPotionEffect(FIRE_RESISTANCE);
     }
 
-    @EventHandler
-    public void onAttack(EntityDamageByEntityEvent event) {
-        if (fireTouch <= 0 || !isThis(event.getEntity())) return;
-        event.getDamager().setFireTicks(fireTouch);
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        if (fireTouch <= 0 || !(event instanceof EntityDamageByEntityEvent byEntity)) return;
+        byEntity.getDamager().setFireTicks(fireTouch);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onExplosion(EntityExplodeEvent event) {
-        if (!isThis(event.getEntity()) || chance <= 0) return;
-        ((LivingEntity)event.getEntity()).removePotionEffect(PotionEffectType.FIRE_RESISTANCE);
+    @Override
+    public void onExplode(LivingEntity entity, EntityExplodeEvent event) {
+        if (event.isCancelled() || chance <= 0) return;
+        entity.removePotionEffect(PotionEffectType.FIRE_RESISTANCE);
         Location start = event.getLocation();
         int cx = start.getBlockX();
         int cy = start.getBlockY();
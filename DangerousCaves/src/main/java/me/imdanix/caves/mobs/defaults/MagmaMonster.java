@@ -13,9 +13,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.EquipmentSlot;
@@ -23,7 +21,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-public class MagmaMonster extends MobBase implements CustomMob.Ticking, Listener {
+public class MagmaMonster extends MobBase implements CustomMob.Ticking, CustomMob.Attacking {
     private static final PotionEffect FIRE_RESISTANCE = new PotionEffect(PotionEffectType.FIRE_RESISTANCE,
             Integer.MAX_VALUE, 1, false, false);
     private static final PotionEffect INVISIBILITY = new PotionEffect(PotionEffectType.INVISIBILITY,
@@ -76,12 +74,17 @@ public class MagmaMonster extends MobBase implements CustomMob.Ticking, Listener
         entity.setFireTicks(20);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onAttack(EntityDamageByEntityEvent event) {
-        if (isThis(event.getDamager()) && Rng.nextBoolean())
+    @Override
+    public void onAttack(LivingEntity entity, EntityDamageByEntityEvent event) {
+        if (!event.isCancelled() && Rng.nextBoolean())
             event.getEntity().setFireTicks(60);
     }
 
+    @Override
+    public EventPriority getAttackPriority() {
+        return EventPriority.HIGHEST;
+    }
+
     @Override
     public void tick(LivingEntity entity) {
         if (extinguishDamage && entity.getFireTicks() > 0) {
@@ -1,6 +1,7 @@
 package me.imdanix.caves.mobs.defaults;
 
 import me.imdanix.caves.mobs.CustomMob;
+import me.imdanix.caves.mobs.EquipmentTemplate;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.mobs.MobsManager;
 import me.imdanix.caves.regions.ActionType;
@@ -21,7 +22,6 @@ import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
@@ -36,7 +36,6 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
-import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataContainer;
@@ -49,13 +48,20 @@ import java.util.List;
 
 // TODO: Other blocks like furnace?
 // TODO: Requires refactoring after uncompatibility
-public class Mimic extends MobBase implements CustomMob.Ticking, Listener {
+public class Mimic extends MobBase implements CustomMob.Ticking, CustomMob.Damaged, CustomMob.Dying, Listener {
     private static final PotionEffect BLINDNESS = new PotionEffect(PotionEffectType.BLINDNESS, 60, 1);
     private static final ItemStack CHEST = new ItemStack(Material.CHEST);
     private static final ItemStack CHESTPLATE = Materials.getColored(EquipmentSlot.CHEST, 194, 105, 18);
     private static final ItemStack LEGGINGS = Materials.getColored(EquipmentSlot.LEGS, 194, 105, 18);
     private static final ItemStack BOOTS = Materials.getColored(EquipmentSlot.FEET, 194, 105, 18);
     private static final ItemStack PLANKS = new ItemStack(Material.SPRUCE_PLANKS);
+    private static final EquipmentTemplate EQUIPMENT = new EquipmentTemplate()
+            .add(EquipmentSlot.HEAD, CHEST)
+            .add(EquipmentSlot.HAND, PLANKS)
+            .add(EquipmentSlot.OFF_HAND, PLANKS)
+            .add(EquipmentSlot.CHEST, CHESTPLATE).drop(0)
+            .add(EquipmentSlot.LEGS, LEGGINGS).drop(0)
+            .add(EquipmentSlot.FEET, BOOTS).drop(0);
 
     private final MobsManager mobsManager;
     private final NamespacedKey chunkKey;
@@ -65,6 +71,7 @@ public class Mimic extends MobBase implements CustomMob.Ticking, Listener {
 
     public Mimic(MobsManager mobsManager) {
         super(EntityType.WITHER_SKELETON, "mimic", 0, 30d);
+        setEquipment(EQUIPMENT);
         this.mobsManager = mobsManager;
         items = new ArrayList<>();
         chunkKey = new NamespacedKey(mobsManager.getPlugin(), "mimic-count");
@@ -111,13 +118,6 @@ public class Mimic extends MobBase implements CustomMob.Ticking, Listener {
     public void prepare(LivingEntity entity) {
         entity.setSilent(true);
         entity.setCanPickupItems(false);
-        EntityEquipment equipment = entity.getEquipment();
-        equipment.setHelmet(CHEST);
-        equipment.setItemInMainHand(PLANKS);
-        equipment.setItemInOffHand(PLANKS);
-        equipment.setChestplate(CHESTPLATE);    equipment.setChestplateDropChance(0);
-        equipment.setLeggings(LEGGINGS);        equipment.setLeggingsDropChance(0);
-        equipment.setBoots(BOOTS);              equipment.setBootsDropChance(0);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -171,21 +171,18 @@ public class Mimic extends MobBase implements CustomMob.Ticking, Listener {
         return true;
     }
 
-    @EventHandler
-    public void onDamage(EntityDamageEvent event) {
-        Entity entity = event.getEntity();
-        if (isThis(entity)) Locations.playSound(entity.getLocation(), Sound.BLOCK_SHULKER_BOX_OPEN, 1f, 0.2f);
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        Locations.playSound(entity.getLocation(), Sound.BLOCK_SHULKER_BOX_OPEN, 1f, 0.2f);
     }
 
-    @EventHandler
-    public void onDeath(EntityDeathEvent event) {
-        if (isThis(event.getEntity())) {
-            Locations.playSound(event.getEntity().getLocation(), Sound.BLOCK_ENDER_CHEST_CLOSE, SoundCategory.HOSTILE, 1f, 0.2f);
-            List<ItemStack> drops = event.getDrops();
-            drops.clear();
-            drops.add(CHEST);
-            if (!items.isEmpty()) drops.add(new ItemStack(Rng.randomElement(items)));
-        }
+    @Override
+    public void onDeath(LivingEntity entity, EntityDeathEvent event) {
+        Locations.playSound(entity.getLocation(), Sound.BLOCK_ENDER_CHEST_CLOSE, SoundCategory.HOSTILE, 1f, 0.2f);
+        List<ItemStack> drops = event.getDrops();
+        drops.clear();
+        drops.add(CHEST);
+        if (!items.isEmpty()) drops.add(new ItemStack(Rng.randomElement(items)));
     }
 
     @Override
@@ -3,7 +3,6 @@ package me.imdanix.caves.mobs.defaults;
 import me.imdanix.caves.mobs.CustomMob;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.util.Utils;
-import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
@@ -34,8 +33,8 @@ public class SmokeDemon extends MobBase implements CustomMob.Ticking {
     }
 
     @Override
-    public boolean canSpawn(Location loc) {
-        return loc.getBlock().getLightLevel() <= maxLight;
+    public int getMaxSpawnLight() {
+        return maxLight;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package me.imdanix.caves.mobs.defaults;
 
+import me.imdanix.caves.mobs.CustomMob;
 import me.imdanix.caves.mobs.MobBase;
 import me.imdanix.caves.util.random.Rng;
 import org.bukkit.ChatColor;
@@ -8,16 +9,14 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.util.Vector;
 
-public class TNTCreeper extends MobBase implements Listener {
+public class TNTCreeper extends MobBase implements CustomMob.Damaged, CustomMob.Exploding {
     private static final PotionEffect INCREASE_DAMAGE = new PotionEffect(PotionEffectType.INSTANT_DAMAGE, Integer.MAX_VALUE, 0, false, true);
 
     private int tntAmount;
@@ -38,10 +37,9 @@ public class TNTCreeper extends MobBase implements Listener {
         entity.addPotionEffect(INCREASE_DAMAGE);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onExplosion(EntityExplodeEvent event) {
-        if (!isThis(event.getEntity())) return;
-        LivingEntity entity = (LivingEntity) event.getEntity();
+    @Override
+    public void onExplode(LivingEntity entity, EntityExplodeEvent event) {
+        if (event.isCancelled()) return;
         entity.removePotionEffect(PotionEffectType.INSTANT_DAMAGE);
         Location loc = event.getLocation();
         for (int i = 0; i < tntAmount; i++) {
@@ -50,10 +48,10 @@ public class TNTCreeper extends MobBase implements Listener {
         }
     }
 
-    @EventHandler
-    public void onDamage(EntityDamageByEntityEvent event) {
-        if (explosionChance > 0 && isThis(event.getEntity()) && Rng.chance(explosionChance)) {
-            event.getDamager().getWorld().createExplosion(event.getDamager().getLocation(), 0.01f);
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        if (explosionChance > 0 && event instanceof EntityDamageByEntityEvent byEntity && Rng.chance(explosionChance)) {
+            byEntity.getDamager().getWorld().createExplosion(byEntity.getDamager().getLocation(), 0.01f);
         }
     }
 }
@@ -11,17 +11,16 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.util.Vector;
 
-public class Watcher extends MobBase implements CustomMob.Ticking, Listener {
+public class Watcher extends MobBase implements CustomMob.Ticking, CustomMob.Damaged {
     private static final PotionEffect INVISIBILITY = new PotionEffect(PotionEffectType.INVISIBILITY, Integer.MAX_VALUE, 0, false, false);
     private static final PotionEffect SLOW = new PotionEffect(PotionEffectType.SLOWNESS, 30, 4);
     private static final PotionEffect BLINDNESS = new PotionEffect(PotionEffectType.BLINDNESS, 80, 2);
@@ -51,10 +50,15 @@ public class Watcher extends MobBase implements CustomMob.Ticking, Listener {
         equipment.setBoots(null);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onAttack(EntityDamageByEntityEvent event) {
-        if (isThis(event.getEntity()))
-            Locations.playSound(event.getEntity().getLocation(), Sound.ENTITY_SLIME_SQUISH, 1, 1.1f);
+    @Override
+    public void onDamaged(LivingEntity entity, EntityDamageEvent event) {
+        if (!event.isCancelled() && event instanceof EntityDamageByEntityEvent)
+            Locations.playSound(entity.getLocation(), Sound.ENTITY_SLIME_SQUISH, 1, 1.1f);
+    }
+
+    @Override
+    public EventPriority getDamagedPriority() {
+        return EventPriority.HIGHEST;
     }
 
     @Override
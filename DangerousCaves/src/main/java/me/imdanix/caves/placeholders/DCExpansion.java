@@ -46,7 +46,14 @@ public class DCExpansion extends PlaceholderExpansion implements Manager<Placeho
 
     @Override
     public String onPlaceholderRequest(Player player, String identifier) {
-        return placeholders.getOrDefault(identifier.toLowerCase(Locale.ROOT), Placeholder.EMPTY).getValue(player);
+        identifier = identifier.toLowerCase(Locale.ROOT);
+        Placeholder placeholder = placeholders.get(identifier);
+        if (placeholder != null) return placeholder.getValue(player);
+        int split = identifier.indexOf('_');
+        if (split > 0 && placeholders.get(identifier.substring(0, split)) instanceof Placeholder.Parameterized parameterized) {
+            return parameterized.getValue(player, identifier.substring(split + 1));
+        }
+        return Placeholder.EMPTY.getValue(player);
     }
 
     @Override
@@ -18,4 +18,16 @@ public interface Placeholder {
     String getName();
 
     String getValue(Player player);
+
+    /**
+     * Placeholder that takes a parameter after its name, e.g. "name_parameter"
+     */
+    interface Parameterized extends Placeholder {
+        @Override
+        default String getValue(Player player) {
+            return getValue(player, "");
+        }
+
+        String getValue(Player player, String parameter);
+    }
 }
@@ -9,6 +9,7 @@ import me.imdanix.caves.regions.worldguard.WorldGuard7Protector;
 import me.imdanix.caves.util.Manager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.ArrayList;
@@ -39,6 +40,24 @@ public enum Regions implements Manager<RegionProtector>, Configurable {
         return true;
     }
 
+    /**
+     * Check possibility of certain action at the block coordinates
+     * Doesn't create any objects when there are no protectors to check
+     * @param check Type of action to test
+     * @param world World to test
+     * @param x X coordinate of the block
+     * @param y Y coordinate of the block
+     * @param z Z coordinate of the block
+     * @return Is action allowed here
+     */
+    public boolean isAllowed(ActionType check, World world, int x, int y, int z) {
+        for (RegionProtector regions : current) {
+            if (!regions.test(check, world, x, y, z))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public void reload(ConfigurationSection cfg) {
         // TODO Logger util?
@@ -52,8 +71,21 @@ public enum Regions implements Manager<RegionProtector>, Configurable {
             current.add(NONE);
         } else for (String mode : modes) {
             RegionProtector manager = protectors.get(mode);
-            if (manager != null) {
-                current.add((c,l) -> invert != manager.test(c, l));
+            if (manager == NONE && !invert) {
+                // Allows everything anyway, so no need to check it
+                continue;
+            } else if (manager != null) {
+                current.add(new RegionProtector() {
+                    @Override
+                    public boolean test(ActionType type, Location location) {
+                        return invert != manager.test(type, location);
+                    }
+
+                    @Override
+                    public boolean test(ActionType type, World world, int x, int y, int z) {
+                        return invert != manager.test(type, world, x, y, z);
+                    }
+                });
             } else {
                 failedModes.add(mode);
             }
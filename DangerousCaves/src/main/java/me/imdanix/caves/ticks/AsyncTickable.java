@@ -0,0 +1,55 @@
+package me.imdanix.caves.ticks;
+
+import java.util.function.Consumer;
+
+/**
+ * Tickable which heavy work is done off the main thread
+ * Every unit of work goes through three phases:
+ * inputs are gathered on the main thread, computed on the worker pool and applied back on the main thread
+ * Gathering and applying are spread among server ticks within the budget
+ * @param <I> Immutable input of a unit of work
+ * @param <O> Result of computation
+ */
+public interface AsyncTickable<I, O> extends Tickable.Resumable {
+    /**
+     * Gather inputs for the current cycle. Called on the main thread
+     * @param deadline {@link System#nanoTime()} value when gathering should be stopped
+     * @param inputs Where to submit gathered inputs. Can be called later too, from the thread that owns gathered data
+     * @return Is there anything left to gather in the current cycle
+     */
+    boolean gather(long deadline, Consumer<I> inputs);
+
+    /**
+     * Compute result of a unit of work. Called on a worker thread, so shouldn't touch the world
+     * @param input Gathered input
+     * @return Result to apply or null if there's nothing to apply
+     */
+    O compute(I input);
+
+    /**
+     * Apply computed result. Called on the main thread
+     * @param output Computed result
+     */
+    void apply(O output);
+
+    /**
+     * Called when a unit of work won't be applied, as its computation failed, returned null or wasn't submitted
+     * May be called on any thread
+     * @param input Gathered input
+     */
+    default void discard(I input) {
+        // Nothing to clean up by default
+    }
+
+    /**
+     * Proceed every phase synchronously
+     */
+    @Override
+    default boolean proceed(long deadline) {
+        return gather(deadline, input -> {
+            O output = compute(input);
+            if (output != null) apply(output);
+            else discard(input);
+        });
+    }
+}
@@ -1,43 +1,281 @@
 package me.imdanix.caves.ticks;
 
+import me.imdanix.caves.configuration.Configurable;
+import me.imdanix.caves.ticks.scheduler.Scheduler;
 import me.imdanix.caves.util.Manager;
-import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
-public class Dynamics implements Manager<Tickable> {
+public class Dynamics implements Manager<Tickable>, Configurable {
+    private final Plugin plugin;
+    private final Scheduler scheduler;
     private final Map<TickLevel, List<Tickable>> tickables;
+    private final Deque<Tickable.Resumable> resumables;
+    private final Queue<Result> results;
+    private final ThreadPoolExecutor workers;
+    private final Map<Tickable, AtomicInteger> pending;
+    private final PlayerShards shards;
+    private final Timings timings;
+    private final Map<Tickable, Timings.Timing> tickTimings;
+    private final Map<Tickable, Timings.Timing> spreadTimings;
+    private final Map<Tickable, Timings.Timing> computeTimings;
+    private final Map<Tickable, Timings.Timing> applyTimings;
 
-    public Dynamics(Plugin plugin) {
+    private long budget;
+    private int maxPending;
+    private boolean sharding;
+    private int shard;
+    private long currentTick;
+
+    public Dynamics(Plugin plugin, Scheduler scheduler) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
         tickables = new EnumMap<>(TickLevel.class);
+        resumables = new ArrayDeque<>();
+        results = new ConcurrentLinkedQueue<>();
+        AtomicInteger threads = new AtomicInteger();
+        int size = defaultWorkers();
+        workers = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "DangerousCaves-Worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers.allowCoreThreadTimeOut(true);
+        pending = new HashMap<>();
+        maxPending = 256;
+        shards = new PlayerShards(TickLevel.PLAYER.getTicks());
+        timings = new Timings();
+        tickTimings = new HashMap<>();
+        spreadTimings = new HashMap<>();
+        computeTimings = new HashMap<>();
+        applyTimings = new HashMap<>();
+        budget = 2_000_000;
         int offset = 0;
         for (TickLevel level : TickLevel.values()) {
             tickables.put(level, new ArrayList<>());
-            Bukkit.getScheduler().runTaskTimer(
-                    plugin,
+            scheduler.runTimer(
                     () -> tick(level),
                     level.getTicks() + offset++,
                     level.getTicks()
             );
         }
+        scheduler.runTimer(() -> {
+            currentTick++;
+            if (sharding) tickShard();
+            proceed();
+        }, 1, 1);
+    }
+
+    @Override
+    public void reload(ConfigurationSection cfg) {
+        budget = (long) (Math.max(cfg.getDouble("budget", 2), 0.05) * 1_000_000);
+        timings.setEnabled(cfg.getBoolean("timings", false));
+        sharding = cfg.getBoolean("player-sharding", true);
+        int size = cfg.getInt("workers", 0);
+        size = size > 0 ? size : defaultWorkers();
+        maxPending = Math.max(cfg.getInt("worker-queue", 256), 1);
+        if (size > workers.getMaximumPoolSize()) {
+            workers.setMaximumPoolSize(size);
+            workers.setCorePoolSize(size);
+        } else {
+            workers.setCorePoolSize(size);
+            workers.setMaximumPoolSize(size);
+        }
     }
 
     @Override
     public boolean register(Tickable tick) {
         if (tick.getTickLevel() == null) return false;
+        String level = tick.getTickLevel().name();
         tickables.get(tick.getTickLevel()).add(tick);
+        tickTimings.put(tick, timings.get(tick, level));
+        if (tick instanceof Tickable.Resumable) {
+            spreadTimings.put(tick, timings.get(tick, level + "-SPREAD"));
+        }
+        if (tick instanceof AsyncTickable) {
+            pending.put(tick, new AtomicInteger());
+            computeTimings.put(tick, timings.get(tick, level + "-COMPUTE"));
+            applyTimings.put(tick, timings.get(tick, level + "-APPLY"));
+        }
         return true;
     }
 
-    // TODO: Spread among ticks
     public void tick(TickLevel level) {
         for (Tickable tickable : tickables.get(level)) {
+            if (sharding && tickable instanceof Tickable.Sharded) continue;
+            long start = System.nanoTime();
             tickable.tick();
+            tickTimings.get(tickable).record(System.nanoTime() - start);
+            queue(tickable);
+        }
+    }
+
+    /**
+     * Feed sharded tickables with the next shard of players
+     * Every player is passed once per {@link TickLevel#PLAYER} period, but the cost is spread among every tick
+     */
+    private void tickShard() {
+        boolean cycle = shard == 0;
+        List<Player> players = shards.getShard(shard);
+        shard = (shard + 1) % shards.size();
+        if (!cycle && players.isEmpty()) return;
+        for (Tickable tickable : tickables.get(TickLevel.PLAYER)) {
+            if (!(tickable instanceof Tickable.Sharded sharded)) continue;
+            long start = System.nanoTime();
+            if (cycle) sharded.reset();
+            sharded.tick(players);
+            tickTimings.get(tickable).record(System.nanoTime() - start);
+            queue(sharded);
+        }
+    }
+
+    /**
+     * Continue the resumable within the budget from the next tick, without waiting for its own tick
+     * @param resumable Registered resumable
+     */
+    public void resume(Tickable.Resumable resumable) {
+        queue(resumable);
+    }
+
+    private void queue(Tickable tickable) {
+        if (tickable instanceof Tickable.Resumable resumable && !resumables.contains(resumable)) {
+            resumables.addLast(resumable);
+        }
+    }
+
+    /**
+     * Continue spread work within the budget
+     * Computed results are applied first, then resumables are continued
+     * Resumables are rotated, so the one that was interrupted will be the last on the next tick
+     */
+    private void proceed() {
+        if (resumables.isEmpty() && results.isEmpty()) return;
+        long start = System.nanoTime();
+        long deadline = start + budget;
+        Result result;
+        while (start < deadline && (result = results.poll()) != null) {
+            try {
+                result.apply().run();
+            } finally {
+                result.pending().decrementAndGet();
+            }
+            long end = System.nanoTime();
+            applyTimings.get(result.tickable()).record(end - start);
+            start = end;
+        }
+        for (int i = resumables.size(); i > 0 && start < deadline; i--) {
+            Tickable.Resumable resumable = resumables.pollFirst();
+            boolean left = resumable instanceof AsyncTickable<?, ?> async
+                    ? gather(async, deadline)
+                    : resumable.proceed(deadline);
+            long end = System.nanoTime();
+            spreadTimings.get(resumable).record(end - start);
+            start = end;
+            if (left) {
+                resumables.addLast(resumable);
+            }
         }
     }
 
+    /**
+     * Gather inputs of the tickable and submit them to the worker pool
+     * Units are counted per tickable from submitting until their result is applied. While a tickable has too many
+     * of them, its gathering is paused, so a burst of inputs can't pile up in the pool or in the results.
+     * Other tickables keep gathering, so e.g. an aging backlog doesn't pause hypoxia
+     */
+    private <I, O> boolean gather(AsyncTickable<I, O> tickable, long deadline) {
+        AtomicInteger pending = this.pending.get(tickable);
+        if (pending.get() >= maxPending) return true;
+        return tickable.gather(deadline, input -> {
+            pending.incrementAndGet();
+            try {
+                workers.execute(() -> {
+                    long start = System.nanoTime();
+                    boolean queued = false;
+                    try {
+                        O output = tickable.compute(input);
+                        if (output != null) queued = results.add(new Result(tickable, pending, () -> tickable.apply(output)));
+                    } catch (Exception e) {
+                        plugin.getLogger().log(Level.WARNING, "Failed to compute " + tickable.getClass().getSimpleName(), e);
+                    } finally {
+                        if (!queued) {
+                            pending.decrementAndGet();
+                            tickable.discard(input);
+                        }
+                        computeTimings.get(tickable).record(System.nanoTime() - start);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Pool is shut down
+                pending.decrementAndGet();
+                tickable.discard(input);
+            }
+        });
+    }
+
+    /**
+     * Stop the worker pool. Results that weren't applied yet are discarded
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+        results.clear();
+        pending.values().forEach(count -> count.set(0));
+    }
+
+    /**
+     * Get amount of server ticks since dynamics were started
+     * Unlike wall-clock time, doesn't run ahead when server is lagging
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Get amount of units of work that are computed or wait to be applied
+     */
+    public int getPending() {
+        int total = 0;
+        for (AtomicInteger count : pending.values()) total += count.get();
+        return total;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public PlayerShards getShards() {
+        return shards;
+    }
+
+    public Timings getTimings() {
+        return timings;
+    }
+
+    @Override
+    public String getConfigPath() {
+        return "ticks";
+    }
+
+    private static int defaultWorkers() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    private record Result(Tickable tickable, AtomicInteger pending, Runnable apply) {}
 }
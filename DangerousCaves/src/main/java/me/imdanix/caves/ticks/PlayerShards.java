@@ -0,0 +1,71 @@
+package me.imdanix.caves.ticks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Online players split into a fixed amount of shards
+ * Shard of a player is picked by its UUID, so it doesn't change even if player rejoins,
+ * and every player is visited at most once per full rotation
+ */
+public class PlayerShards implements Listener {
+    private final List<List<Player>> shards;
+
+    public PlayerShards(int size) {
+        shards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shards.add(new ArrayList<>());
+        }
+        Bukkit.getOnlinePlayers().forEach(this::assign);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        assign(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        unassign(event.getPlayer());
+    }
+
+    private synchronized void assign(Player player) {
+        List<Player> shard = shards.get(index(player.getUniqueId()));
+        if (!shard.contains(player)) shard.add(player);
+    }
+
+    private synchronized void unassign(Player player) {
+        shards.get(index(player.getUniqueId())).remove(player);
+    }
+
+    /**
+     * Random UUIDs are spread evenly, so shards are balanced without tracking their sizes
+     */
+    private int index(UUID uuid) {
+        long hash = (uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits()) * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(hash ^ (hash >>> 32), shards.size());
+    }
+
+    /**
+     * Get players of the shard
+     * @param index Index of the shard, wrapped around the amount of shards
+     * @return Copy of the shard's players
+     */
+    public synchronized List<Player> getShard(int index) {
+        List<Player> shard = shards.get(Math.floorMod(index, shards.size()));
+        return shard.isEmpty() ? List.of() : List.copyOf(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+}
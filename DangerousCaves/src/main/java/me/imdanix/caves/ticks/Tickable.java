@@ -1,6 +1,56 @@
 package me.imdanix.caves.ticks;
 
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
 public interface Tickable {
     void tick();
     TickLevel getTickLevel();
+
+    /**
+     * Tickable which work can be split into smaller units and spread among server ticks
+     */
+    interface Resumable extends Tickable {
+        /**
+         * Start a new cycle of work. Unfinished work of the previous cycle may be discarded
+         */
+        @Override
+        void tick();
+
+        /**
+         * Continue work of the current cycle
+         * Should proceed at least one unit of work even if deadline is already passed
+         * @param deadline {@link System#nanoTime()} value when work should be stopped
+         * @return Is there any work left in the current cycle
+         */
+        boolean proceed(long deadline);
+    }
+
+    /**
+     * Resumable which cycle is made of per-player work
+     * Can be fed with a part of online players at a time, see {@link PlayerShards}
+     */
+    interface Sharded extends Resumable {
+        /**
+         * Start a new cycle with every online player
+         */
+        @Override
+        default void tick() {
+            reset();
+            tick(Bukkit.getOnlinePlayers());
+        }
+
+        /**
+         * Start a new cycle without any players. Unfinished work of the previous cycle may be discarded
+         */
+        void reset();
+
+        /**
+         * Add players to the current cycle
+         * @param players Players to add
+         */
+        void tick(Collection<? extends Player> players);
+    }
 }
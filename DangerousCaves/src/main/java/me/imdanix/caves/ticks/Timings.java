@@ -0,0 +1,235 @@
+package me.imdanix.caves.ticks;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Rolling timings of plugin's components
+ */
+public class Timings {
+    private static final int SAMPLES = 512;
+
+    private final Map<String, Timing> timings;
+    private volatile boolean enabled;
+
+    public Timings() {
+        timings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get timing of component's section. Should be cached by caller
+     * @param component Name of measured component
+     * @param section Measured part of component, like {@link TickLevel} or event name
+     * @return Timing to record into
+     */
+    public Timing get(String component, String section) {
+        return timings.computeIfAbsent(component + ' ' + section, k -> new Timing(component, section));
+    }
+
+    public Timing get(Object component, String section) {
+        return get(name(component.getClass()), section);
+    }
+
+    /**
+     * Register all the {@link EventHandler} methods of the listener while measuring their execution
+     * @param listener Listener to register
+     * @param plugin Owner of the listener
+     */
+    public void registerEvents(Listener listener, Plugin plugin) {
+        Set<Method> methods = new HashSet<>(Arrays.asList(listener.getClass().getMethods()));
+        methods.addAll(Arrays.asList(listener.getClass().getDeclaredMethods()));
+        for (Method method : methods) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1) continue;
+            Class<?> param = method.getParameterTypes()[0];
+            if (!Event.class.isAssignableFrom(param)) continue;
+            Class<? extends Event> eventClass = param.asSubclass(Event.class);
+            registerEvent(eventClass, listener, handler.priority(), executor(method, eventClass), plugin, handler.ignoreCancelled());
+        }
+    }
+
+    /**
+     * Create executor that calls the handler method directly through a generated class, like Bukkit's own executors do
+     * Falls back to reflection if the class can't be generated
+     */
+    @SuppressWarnings("unchecked")
+    private static EventExecutor executor(Method method, Class<? extends Event> eventClass) {
+        if (!Modifier.isStatic(method.getModifiers())) try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            BiConsumer<Object, Object> invoker = (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(
+                    lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle, handle.type().changeReturnType(void.class)
+            ).getTarget().invoke();
+            return (l, event) -> {
+                if (!eventClass.isInstance(event)) return;
+                try {
+                    invoker.accept(l, event);
+                } catch (Throwable e) {
+                    throw new EventException(e);
+                }
+            };
+        } catch (Throwable ignored) {}
+        method.setAccessible(true);
+        return (l, event) -> {
+            if (!eventClass.isInstance(event)) return;
+            try {
+                method.invoke(l, event);
+            } catch (InvocationTargetException e) {
+                throw new EventException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new EventException(e);
+            }
+        };
+    }
+
+    /**
+     * Register event executor while measuring its execution
+     * @param eventClass Class of the event to listen to
+     * @param listener Listener to register executor for, used to unregister it later
+     * @param priority Priority of the executor
+     * @param executor Executor to register
+     * @param plugin Owner of the listener
+     * @param ignoreCancelled Should cancelled events be skipped
+     */
+    public void registerEvent(Class<? extends Event> eventClass, Listener listener, EventPriority priority,
+                              EventExecutor executor, Plugin plugin, boolean ignoreCancelled) {
+        Timing timing = get(name(listener.getClass()), eventClass.getSimpleName());
+        plugin.getServer().getPluginManager().registerEvent(eventClass, listener, priority, (l, event) -> {
+            if (!enabled) {
+                executor.execute(l, event);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                executor.execute(l, event);
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        }, plugin, ignoreCancelled);
+    }
+
+    /**
+     * Get all the measured timings
+     * @return Timings sorted by their 95th percentile, descending
+     */
+    public List<Timing> getTimings() {
+        List<Timing> sorted = new ArrayList<>(timings.values());
+        // Percentile sorts samples, so it's taken once per timing rather than on every comparison
+        Map<Timing, Long> p95 = new HashMap<>(sorted.size());
+        for (Timing timing : sorted) p95.put(timing, timing.getPercentile(95));
+        sorted.sort(Comparator.comparingLong((Timing t) -> p95.get(t)).reversed());
+        return Collections.unmodifiableList(sorted);
+    }
+
+    public void reset() {
+        timings.values().forEach(Timing::reset);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    private static String name(Class<?> clazz) {
+        String name = clazz.getSimpleName();
+        return name.isEmpty() ? clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) : name;
+    }
+
+    public class Timing {
+        private final String component;
+        private final String section;
+        private final long[] samples;
+        private int index;
+        private int size;
+        private long calls;
+
+        private Timing(String component, String section) {
+            this.component = component;
+            this.section = section;
+            this.samples = new long[SAMPLES];
+        }
+
+        /**
+         * Record a new sample
+         * @param nanos Measured time in nanoseconds
+         */
+        public synchronized void record(long nanos) {
+            if (!enabled) return;
+            samples[index] = nanos;
+            index = (index + 1) % SAMPLES;
+            if (size < SAMPLES) size++;
+            calls++;
+        }
+
+        /**
+         * Get percentile of the last samples
+         * @param percentile Percentile from 0 to 100
+         * @return Time in nanoseconds
+         */
+        public long getPercentile(int percentile) {
+            return getPercentiles(percentile)[0];
+        }
+
+        /**
+         * Get several percentiles of the last samples, sorting them only once
+         * @param percentiles Percentiles from 0 to 100
+         * @return Times in nanoseconds, in the same order
+         */
+        public long[] getPercentiles(int... percentiles) {
+            long[] result = new long[percentiles.length];
+            long[] copy;
+            synchronized (this) {
+                if (size == 0) return result;
+                copy = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(copy);
+            for (int i = 0; i < percentiles.length; i++) {
+                result[i] = copy[Math.min(copy.length - 1, copy.length * percentiles[i] / 100)];
+            }
+            return result;
+        }
+
+        public synchronized void reset() {
+            index = 0;
+            size = 0;
+            calls = 0;
+        }
+
+        public String getComponent() {
+            return component;
+        }
+
+        public String getSection() {
+            return section;
+        }
+
+        public synchronized long getCalls() {
+            return calls;
+        }
+    }
+}
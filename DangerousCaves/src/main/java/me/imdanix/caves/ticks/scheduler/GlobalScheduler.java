@@ -0,0 +1,52 @@
+package me.imdanix.caves.ticks.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Scheduler for servers with the single main thread
+ */
+public class GlobalScheduler implements Scheduler {
+    private final Plugin plugin;
+
+    public GlobalScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public Task runTimer(Runnable task, long delay, long period) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period)::cancel;
+    }
+
+    @Override
+    public void run(Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void run(Entity entity, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (entity.isValid()) task.run();
+            });
+        }
+    }
+
+    @Override
+    public void run(World world, int chunkX, int chunkZ, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+}
@@ -0,0 +1,73 @@
+package me.imdanix.caves.ticks.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Scheduler of plugin's work
+ * Global work is done on the main thread, while the work bound to entities and locations is dispatched along with them,
+ * so it can be moved to the threads that own them once region-threaded servers are supported
+ */
+public interface Scheduler {
+    /**
+     * Run task repeatedly on the global thread
+     * @param task Task to run
+     * @param delay Ticks before the first run, at least 1
+     * @param period Ticks between runs
+     * @return Scheduled task
+     */
+    Task runTimer(Runnable task, long delay, long period);
+
+    /**
+     * Run task on the global thread
+     * @param task Task to run
+     */
+    void run(Runnable task);
+
+    /**
+     * Run task on the thread that owns the entity. Runs immediately if current thread is the owner
+     * Task is skipped if entity was removed before it could be run
+     * @param entity Entity to run task for
+     * @param task Task to run
+     */
+    void run(Entity entity, Runnable task);
+
+    /**
+     * Run task on the thread that owns the chunk. Runs immediately if current thread is the owner
+     * @param world World of the chunk
+     * @param chunkX X coordinate of the chunk
+     * @param chunkZ Z coordinate of the chunk
+     * @param task Task to run
+     */
+    void run(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Run task on the thread that owns the location. Runs immediately if current thread is the owner
+     * @param loc Location to run task for
+     * @param task Task to run
+     */
+    default void run(Location loc, Runnable task) {
+        run(loc.getWorld(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4, task);
+    }
+
+    /**
+     * Run task off the server threads
+     * @param task Task to run
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Create scheduler suitable for the current server
+     * @param plugin Owner of the tasks
+     * @return Scheduler of the main thread, as region-threaded servers aren't supported yet
+     */
+    static Scheduler create(Plugin plugin) {
+        return new GlobalScheduler(plugin);
+    }
+
+    interface Task {
+        void cancel();
+    }
+}
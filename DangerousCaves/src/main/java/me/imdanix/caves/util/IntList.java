@@ -0,0 +1,50 @@
+package me.imdanix.caves.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, so values aren't boxed
+ * Meant to be reused - {@link #clear()} keeps the allocated array
+ */
+public class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException(index);
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Get copy of the values
+     * @return Array of exactly {@link #size()} length
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
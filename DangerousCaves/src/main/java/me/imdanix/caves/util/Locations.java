@@ -28,6 +28,24 @@ public final class Locations {
         return new Location(loc.getWorld(), loc.getX() + x, loc.getY() + y, loc.getZ() + z);
     }
 
+    /**
+     * Pack chunk coordinates into a single key
+     * @param x X coordinate of the chunk
+     * @param z Z coordinate of the chunk
+     * @return Chunk key
+     */
+    public static long chunkKey(int x, int z) {
+        return ((long) z << 32) | (x & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long key) {
+        return (int) key;
+    }
+
+    public static int chunkZ(long key) {
+        return (int) (key >> 32);
+    }
+
     public static void loop(int radius, Location start, Consumer<Location> consumer) {
         loop(radius, start, ((world, x, y, z) -> consumer.accept(new Location(world, x, y, z))));
     }
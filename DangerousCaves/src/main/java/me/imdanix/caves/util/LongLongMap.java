@@ -0,0 +1,121 @@
+package me.imdanix.caves.util;
+
+/**
+ * Hash map with primitive long keys and values, so neither of them is boxed
+ * Uses open addressing with linear probing, same as {@link LongMap}. Has only what {@code AgingIndex} needs
+ */
+public class LongLongMap {
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    public LongLongMap(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 4) * 2 - 1);
+        keys = new long[length];
+        values = new long[length];
+        used = new boolean[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Get value of the key
+     * @param key Key of the value
+     * @param def Value to return if there's no such key
+     * @return Value or default one
+     */
+    public long get(long key, long def) {
+        for (int i = index(key); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return def;
+    }
+
+    public void put(long key, long value) {
+        int i = index(key);
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        used[i] = true;
+        if (++size * 2 > used.length) resize(used.length * 2);
+    }
+
+    /**
+     * Remove value from the map
+     * @param key Key of the value
+     * @return Was there such key
+     */
+    public boolean remove(long key) {
+        int i = index(key);
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) break;
+        }
+        if (!used[i]) return false;
+        used[i] = false;
+        size--;
+        // Shift following entries back, so there are no gaps in their probe sequences
+        for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int k = index(keys[j]);
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+            keys[i] = keys[j];
+            values[i] = values[j];
+            used[i] = true;
+            used[j] = false;
+            i = j;
+        }
+        return true;
+    }
+
+    /**
+     * Get copy of all the keys, so the map can be modified while iterating them
+     * @return Keys of the map
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        for (int i = 0, j = 0; i < used.length; i++) {
+            if (used[i]) result[j++] = keys[i];
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void resize(int length) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[length];
+        values = new long[length];
+        used = new boolean[length];
+        mask = length - 1;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int j = index(oldKeys[i]);
+            while (used[j]) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+            used[j] = true;
+        }
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
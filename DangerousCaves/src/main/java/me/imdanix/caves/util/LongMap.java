@@ -0,0 +1,159 @@
+package me.imdanix.caves.util;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Hash map with primitive long keys, so keys aren't boxed
+ * Uses open addressing with linear probing. Null values are not allowed
+ * @param <V> Type of values
+ */
+public class LongMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    public LongMap() {
+        this(16);
+    }
+
+    public LongMap(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 4) * 2 - 1);
+        keys = new long[length];
+        values = new Object[length];
+        mask = length - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        for (int i = index(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return (V) values[i];
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Put value into the map
+     * @param key Key of the value
+     * @param value Value to put
+     * @return Previous value or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) throw new NullPointerException("Null values are not allowed");
+        int i = index(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > values.length) resize(values.length * 2);
+        return null;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Remove value from the map
+     * @param key Key of the value
+     * @return Removed value or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = index(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) break;
+        }
+        V removed = (V) values[i];
+        if (removed == null) return null;
+        values[i] = null;
+        size--;
+        // Shift following entries back, so there are no gaps in their probe sequences
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int k = index(keys[j]);
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+            keys[i] = keys[j];
+            values[i] = values[j];
+            values[j] = null;
+            i = j;
+        }
+        return removed;
+    }
+
+    /**
+     * Get copy of all the keys, so the map can be modified while iterating them
+     * @return Keys of the map
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        for (int i = 0, j = 0; i < values.length; i++) {
+            if (values[i] != null) result[j++] = keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Proceed every entry of the map. The map shouldn't be modified meanwhile
+     * @param action Action to proceed
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void resize(int length) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[length];
+        values = new Object[length];
+        mask = length - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int j = index(oldKeys[i]);
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
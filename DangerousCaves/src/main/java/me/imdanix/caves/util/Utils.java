@@ -5,17 +5,14 @@ import org.bukkit.ChatColor;
 import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.plugin.Plugin;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 public final class Utils {
@@ -75,17 +72,6 @@ public final class Utils {
         }
     }
 
-    public static <T> void runIteratingTask(Plugin plugin, Collection<T> col, Consumer<T> action, long timeout) {
-        Iterator<T> iterator = col.iterator();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, (task) -> {
-            if (iterator.hasNext()) {
-                action.accept(iterator.next());
-            } else {
-                task.cancel();
-            }
-        }, timeout, timeout);
-    }
-
     public static double getDouble(String str, double def) {
         if (!FLOAT.matcher(str).matches()) return def;
         return Double.parseDouble(str);
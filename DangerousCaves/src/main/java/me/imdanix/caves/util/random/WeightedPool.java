@@ -4,38 +4,104 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.ToIntFunction;
+import java.util.function.ToDoubleFunction;
 
 /**
- * Weighted collection class based off DarkSeraphim's answer
- * https://www.spigotmc.org/threads/probability.449617/#post-3868549
+ * Weighted collection based on Vose's alias method
+ * Keeps one entry per element, so memory doesn't depend on weights, and picks an element in constant time
+ * The alias table is rebuilt lazily on the first pick after elements were added
  */
 public class WeightedPool<T> {
     private final List<T> elements;
+    private final List<Double> weights;
+    private volatile Table table;
 
     public WeightedPool() {
         elements = new ArrayList<>();
+        weights = new ArrayList<>();
     }
 
-    public WeightedPool(Collection<T> collection, ToIntFunction<T> funct) {
-        elements = new ArrayList<>();
+    public WeightedPool(Collection<T> collection, ToDoubleFunction<T> funct) {
+        this();
         if (!collection.isEmpty()) {
             Objects.requireNonNull(funct);
-            collection.forEach(t -> add(t, funct.applyAsInt(t)));
+            collection.forEach(t -> add(t, funct.applyAsDouble(t)));
         }
-
     }
 
-    public void add(T element, int weight) {
-        for (int i = 0; i < weight; i++)
-            this.elements.add(element);
+    /**
+     * Add an element to the pool
+     * @param element Element to add
+     * @param weight Weight of the element, elements with non-positive weight are ignored
+     */
+    public synchronized void add(T element, double weight) {
+        if (!(weight > 0) || Double.isInfinite(weight)) return;
+        elements.add(element);
+        weights.add(weight);
+        table = null;
     }
 
+    /**
+     * Pick a random element according to weights
+     * @return Picked element or null if the pool is empty
+     */
     public T next() {
-        return this.elements.get(Rng.nextInt(this.elements.size()));
+        Table current = table;
+        if (current == null) current = build();
+        return current.next();
     }
 
-    public boolean isEmpty() {
+    public synchronized boolean isEmpty() {
         return elements.isEmpty();
     }
+
+    private synchronized Table build() {
+        if (table == null) table = new Table(elements, weights);
+        return table;
+    }
+
+    private static final class Table {
+        private final Object[] elements;
+        private final double[] probability;
+        private final int[] alias;
+
+        private Table(List<?> elements, List<Double> weights) {
+            int size = elements.size();
+            this.elements = elements.toArray();
+            probability = new double[size];
+            alias = new int[size];
+            if (size == 0) return;
+
+            double sum = 0;
+            for (double weight : weights) sum += weight;
+            double[] scaled = new double[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int smalls = 0, larges = 0;
+            for (int i = 0; i < size; i++) {
+                scaled[i] = weights.get(i) * size / sum;
+                if (scaled[i] < 1) small[smalls++] = i;
+                else large[larges++] = i;
+            }
+            while (smalls > 0 && larges > 0) {
+                int less = small[--smalls];
+                int more = large[--larges];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1;
+                if (scaled[more] < 1) small[smalls++] = more;
+                else large[larges++] = more;
+            }
+            // Leftovers are 1 up to floating point errors
+            while (larges > 0) probability[large[--larges]] = 1;
+            while (smalls > 0) probability[small[--smalls]] = 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T next() {
+            if (elements.length == 0) return null;
+            int column = Rng.nextInt(elements.length);
+            return (T) elements[Rng.nextDouble() < probability[column] ? column : alias[column]];
+        }
+    }
 }
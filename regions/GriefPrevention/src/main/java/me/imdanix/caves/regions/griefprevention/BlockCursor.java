@@ -0,0 +1,23 @@
+package me.imdanix.caves.regions.griefprevention;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * GriefPrevention only takes locations, so checks of single blocks reuse one per thread instead of creating it
+ * The location is overwritten by the next check, so it shouldn't be kept
+ */
+final class BlockCursor {
+    private static final ThreadLocal<Location> CURSOR = ThreadLocal.withInitial(() -> new Location(null, 0, 0, 0));
+
+    private BlockCursor() {}
+
+    static Location at(World world, int x, int y, int z) {
+        Location location = CURSOR.get();
+        location.setWorld(world);
+        location.setX(x);
+        location.setY(y);
+        location.setZ(z);
+        return location;
+    }
+}
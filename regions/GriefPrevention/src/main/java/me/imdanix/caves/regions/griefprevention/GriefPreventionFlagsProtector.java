@@ -9,6 +9,7 @@ import me.ryanhamshire.GPFlags.MessageSpecifier;
 import me.ryanhamshire.GPFlags.Messages;
 import me.ryanhamshire.GPFlags.flags.FlagDefinition;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 import java.util.Arrays;
 import java.util.List;
@@ -40,6 +41,11 @@ public class GriefPreventionFlagsProtector implements RegionProtector {
         return flag != null;
     }
 
+    @Override
+    public boolean test(ActionType actionType, World world, int x, int y, int z) {
+        return test(actionType, BlockCursor.at(world, x, y, z));
+    }
+
     private static class EntityGriefFlagDefinition extends FlagDefinition {
         public EntityGriefFlagDefinition() {
             super(GPFlags.getInstance().getFlagManager(), GPFlags.getInstance());
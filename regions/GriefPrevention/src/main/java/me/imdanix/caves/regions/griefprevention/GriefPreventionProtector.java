@@ -2,10 +2,14 @@ package me.imdanix.caves.regions.griefprevention;
 
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.RegionProtector;
+import me.ryanhamshire.GriefPrevention.Claim;
 import me.ryanhamshire.GriefPrevention.GriefPrevention;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 public class GriefPreventionProtector implements RegionProtector {
+    // Neighbour blocks are usually in the same claim, so the last found one is checked first
+    private final ThreadLocal<Claim> lastClaim = new ThreadLocal<>();
 
     @Override
     public String getName() {
@@ -14,6 +18,14 @@ public class GriefPreventionProtector implements RegionProtector {
 
     @Override
     public boolean test(ActionType actionType, Location location) {
-        return GriefPrevention.instance.dataStore.getClaimAt(location, false, null) == null;
+        Claim claim = GriefPrevention.instance.dataStore.getClaimAt(location, false, lastClaim.get());
+        if (claim == null) return true;
+        lastClaim.set(claim);
+        return false;
+    }
+
+    @Override
+    public boolean test(ActionType actionType, World world, int x, int y, int z) {
+        return test(actionType, BlockCursor.at(world, x, y, z));
     }
 }
@@ -1,6 +1,7 @@
 package me.imdanix.caves.regions;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 
 import java.util.function.BiPredicate;
 
@@ -29,4 +30,18 @@ public interface RegionProtector extends BiPredicate<ActionType, Location> {
      */
     @Override
     boolean test(ActionType type, Location location);
+
+    /**
+     * Check possibility of certain action at the block coordinates
+     * Can be overridden by protectors that don't need a {@link Location} object
+     * @param type Type of action to test
+     * @param world World to test
+     * @param x X coordinate of the block
+     * @param y Y coordinate of the block
+     * @param z Z coordinate of the block
+     * @return Is action allowed here
+     */
+    default boolean test(ActionType type, World world, int x, int y, int z) {
+        return test(type, new Location(world, x, y, z));
+    }
 }
@@ -1,15 +1,18 @@
 package me.imdanix.caves.regions.worldguard;
 
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.ApplicableRegionSet;
 import com.sk89q.worldguard.protection.flags.StateFlag;
 import com.sk89q.worldguard.protection.flags.registry.FlagConflictException;
 import com.sk89q.worldguard.protection.flags.registry.FlagRegistry;
+import com.sk89q.worldguard.protection.managers.RegionManager;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.RegionProtector;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 public class WorldGuard7FlagsProtector implements RegionProtector {
     private static final StateFlag ENTITY_FLAG = new StateFlag("dc-entity-grief", true);
@@ -32,7 +35,18 @@ public class WorldGuard7FlagsProtector implements RegionProtector {
 
     @Override
     public boolean test(ActionType type, Location location) {
-        ApplicableRegionSet set = getContainer().createQuery().getApplicableRegions(BukkitAdapter.adapt(location));
+        return testFlags(type, getContainer().createQuery().getApplicableRegions(BukkitAdapter.adapt(location)));
+    }
+
+    @Override
+    public boolean test(ActionType type, World world, int x, int y, int z) {
+        RegionManager manager = getContainer().get(BukkitAdapter.adapt(world));
+        // Regions aren't loaded for the world, so leave it up to the query
+        if (manager == null) return RegionProtector.super.test(type, world, x, y, z);
+        return testFlags(type, manager.getApplicableRegions(BlockVector3.at(x, y, z)));
+    }
+
+    private static boolean testFlags(ActionType type, ApplicableRegionSet set) {
         return switch (type) {
             case ENTITY -> set.testState(null, ENTITY_FLAG);
             case BLOCK -> set.testState(null, BLOCK_FLAG);
@@ -1,12 +1,15 @@
 package me.imdanix.caves.regions.worldguard;
 
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.managers.RegionManager;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import me.imdanix.caves.regions.ActionType;
 import me.imdanix.caves.regions.RegionProtector;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 public class WorldGuard7Protector implements RegionProtector {
     @Override
@@ -15,6 +18,14 @@ public class WorldGuard7Protector implements RegionProtector {
         return set.size() == 0;
     }
 
+    @Override
+    public boolean test(ActionType actionType, World world, int x, int y, int z) {
+        RegionManager manager = getContainer().get(BukkitAdapter.adapt(world));
+        // Regions aren't loaded for the world, so leave it up to the query
+        if (manager == null) return RegionProtector.super.test(actionType, world, x, y, z);
+        return manager.getApplicableRegions(BlockVector3.at(x, y, z)).size() == 0;
+    }
+
     @Override
     public String getName() {
         return "worldguard";